@@ -0,0 +1,100 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Benchmarks for {@link Array}. Steady-state benchmarks work on a pre-filled array whose size does not change between
+ * invocations, growth-heavy benchmarks build a new array from empty so every resize is included in the measurement.
+ */
+@State(Scope.Thread)
+public class ArrayBenchmark {
+
+    private static final int INDEXES = 1024; // power of two, used as a mask
+    private static final int BATCH = 64;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private Array array;
+    private Object[] batch;
+    private Object[] smallBatch;
+    private int[] indexes;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        array = new Array(size);
+        for(int i = 0; i < size; i++)
+            array.push(i);
+        batch = new Object[size];
+        for(int i = 0; i < size; i++)
+            batch[i] = i;
+        smallBatch = new Object[BATCH];
+        for(int i = 0; i < BATCH; i++)
+            smallBatch[i] = i;
+
+        Random random = new Random(42);
+        indexes = new int[INDEXES];
+        for(int i = 0; i < INDEXES; i++)
+            indexes[i] = random.nextInt(size);
+    }
+
+    // steady-state
+
+    @Benchmark
+    public Object get() {
+        return array.get(indexes[cursor++ & (INDEXES - 1)]);
+    }
+
+    @Benchmark
+    public Object pushPop() {
+        array.push(cursor++);
+        return array.pop();
+    }
+
+    @Benchmark
+    public void removeMiddle() { // O(n) shift, push keeps the size steady
+        array.remove(size >> 1);
+        array.push(cursor++);
+    }
+
+    @Benchmark
+    public void insertAllMiddle() { // one shift for the whole batch, removeRange keeps the size steady
+        int middle = size >> 1;
+        array.insertAll(middle, smallBatch);
+        array.removeRange(middle, middle + BATCH);
+    }
+
+    // growth-heavy
+
+    @Benchmark
+    public Array pushGrowth() {
+        Array grown = new Array();
+        for(int i = 0; i < size; i++)
+            grown.push(i);
+        return grown;
+    }
+
+    @Benchmark
+    public void pushGrowthThenPop(Blackhole blackhole) {
+        Array grown = new Array();
+        for(int i = 0; i < size; i++)
+            grown.push(i);
+        while(grown.size() > 0)
+            blackhole.consume(grown.pop());
+    }
+
+    @Benchmark
+    public Array pushAllGrowth() {
+        Array grown = new Array();
+        grown.pushAll(batch);
+        return grown;
+    }
+}
@@ -0,0 +1,64 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Sequential loops against the fork/join operations of {@link Array}. Sizes start above the sequential cutoff so the
+ * parallel versions actually split.
+ */
+@State(Scope.Thread)
+public class ArrayParallelBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    private int size;
+
+    private Array array;
+    private Array unsorted;
+
+    @Setup
+    public void setup() {
+        array = new Array(size);
+        for(int i = 0; i < size; i++)
+            array.push((long) i);
+    }
+
+    @Setup(Level.Invocation)
+    public void shuffle() {
+        Random random = new Random(42);
+        unsorted = new Array(size);
+        for(int i = 0; i < size; i++)
+            unsorted.push(random.nextLong());
+    }
+
+    @Benchmark
+    public long sequentialSum() {
+        long sum = 0;
+        for(int i = 0; i < size; i++)
+            sum += (Long) array.get(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long parallelReduceSum() {
+        return array.parallelReduce(0L, Long::sum);
+    }
+
+    @Benchmark
+    public long parallelStreamSum() {
+        return array.parallelStream().mapToLong(value -> (Long) value).sum();
+    }
+
+    @Benchmark
+    public Array parallelSort() {
+        unsorted.parallelSort(Comparator.<Long>naturalOrder());
+        return unsorted;
+    }
+}
@@ -0,0 +1,101 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handoff throughput of {@link BlockingQueueA} for each wait strategy, with one producer and one consumer and with
+ * four of each, against {@link ArrayBlockingQueue} (which ignores the strategy parameter). Blocking calls use a 1ms
+ * timeout so no thread is left waiting when an iteration ends, timeouts are counted separately from handoffs.
+ *
+ * The spinning strategies keep waiting threads on a CPU, so compare CPU usage as well as throughput.
+ */
+@State(Scope.Group)
+public class BlockingQueueABenchmark {
+
+    private static final Integer VALUE = 42;
+    private static final int CAPACITY = 1024;
+
+    @Param({"BUSY_SPIN", "YIELD", "BACKOFF", "PARK"})
+    private BlockingQueueA.WaitStrategy strategy;
+
+    private BlockingQueueA<Integer> queue;
+    private ArrayBlockingQueue<Integer> arrayBlockingQueue;
+
+    @Setup
+    public void setup() {
+        queue = new BlockingQueueA<>(CAPACITY, strategy);
+        arrayBlockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long put;
+        public long taken;
+        public long timedOut;
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void put(Counters counters) throws InterruptedException {
+        if(queue.offer(VALUE, 1, TimeUnit.MILLISECONDS))
+            counters.put++;
+        else
+            counters.timedOut++;
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void take(Counters counters) throws InterruptedException {
+        if(queue.poll(1, TimeUnit.MILLISECONDS) != null)
+            counters.taken++;
+        else
+            counters.timedOut++;
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public void contendedPut(Counters counters) throws InterruptedException {
+        put(counters);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public void contendedTake(Counters counters) throws InterruptedException {
+        take(counters);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    @GroupThreads(1)
+    public void arrayBlockingQueuePut(Counters counters) throws InterruptedException {
+        if(arrayBlockingQueue.offer(VALUE, 1, TimeUnit.MILLISECONDS))
+            counters.put++;
+        else
+            counters.timedOut++;
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    @GroupThreads(1)
+    public void arrayBlockingQueueTake(Counters counters) throws InterruptedException {
+        if(arrayBlockingQueue.poll(1, TimeUnit.MILLISECONDS) != null)
+            counters.taken++;
+        else
+            counters.timedOut++;
+    }
+}
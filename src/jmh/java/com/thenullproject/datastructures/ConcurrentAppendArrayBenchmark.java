@@ -0,0 +1,43 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Append scaling of {@link ConcurrentAppendArray} against an {@link Array} guarded by a lock, with every thread
+ * pushing to the same shared array. Both arrays keep every value pushed, so they are recreated for each iteration.
+ */
+@State(Scope.Benchmark)
+public class ConcurrentAppendArrayBenchmark {
+
+    private static final Integer VALUE = 42;
+
+    private ConcurrentAppendArray<Integer> concurrent;
+    private Array locked;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        concurrent = new ConcurrentAppendArray<>();
+        locked = new Array();
+    }
+
+    private int pushLocked() {
+        synchronized(locked) {
+            locked.push(VALUE);
+            return locked.size();
+        }
+    }
+
+    @Benchmark
+    public int concurrent() {
+        return concurrent.push(VALUE);
+    }
+
+    @Benchmark
+    public int locked() {
+        return pushLocked();
+    }
+}
@@ -0,0 +1,39 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Throughput (thrpt) and latency (avgt) of {@link ConcurrentQueueLL} against {@link ConcurrentLinkedQueue}, every
+ * thread both enqueues and polls on the same shared queue.
+ */
+@State(Scope.Benchmark)
+public class ConcurrentQueueLLBenchmark {
+
+    private static final Integer VALUE = 42;
+
+    private ConcurrentQueueLL<Integer> queue;
+    private ConcurrentLinkedQueue<Integer> jdkQueue;
+
+    @Setup
+    public void setup() {
+        queue = new ConcurrentQueueLL<>();
+        jdkQueue = new ConcurrentLinkedQueue<>();
+    }
+
+    @Benchmark
+    public Integer concurrentQueueLL() {
+        queue.enqueue(VALUE);
+        return queue.poll();
+    }
+
+    @Benchmark
+    public Integer concurrentLinkedQueue() {
+        jdkQueue.offer(VALUE);
+        return jdkQueue.poll();
+    }
+}
@@ -0,0 +1,40 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Contention scaling of {@link ConcurrentStackLL} against {@link ConcurrentLinkedDeque} used as a stack. Every thread
+ * pushes and then pops on the same shared stack, so pushes and pops overlap and get the chance to eliminate each
+ * other.
+ */
+@State(Scope.Benchmark)
+public class ConcurrentStackLLBenchmark {
+
+    private static final Integer VALUE = 42;
+
+    private ConcurrentStackLL<Integer> stack;
+    private ConcurrentLinkedDeque<Integer> deque;
+
+    @Setup
+    public void setup() {
+        stack = new ConcurrentStackLL<>();
+        deque = new ConcurrentLinkedDeque<>();
+    }
+
+    @Benchmark
+    public Integer stack() {
+        stack.push(VALUE);
+        return stack.poll();
+    }
+
+    @Benchmark
+    public Integer deque() {
+        deque.push(VALUE);
+        return deque.poll();
+    }
+}
@@ -0,0 +1,98 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Benchmarks for {@link DaryHeap}, comparing the binary (2), cache-friendly 4-ary and 8-ary layouts, against a boxed
+ * {@link PriorityQueue} of Long keys (which ignores the arity parameter). Steady-state benchmarks pair an insert with a
+ * pop so the heap keeps its size, keys come from a pre-generated random sequence.
+ */
+@State(Scope.Thread)
+public class DaryHeapBenchmark {
+
+    private static final Integer VALUE = 42; // boxed once
+    private static final int KEY_COUNT = 1 << 16;
+    private static final int BATCH = 64;
+
+    @Param({"2", "4", "8"})
+    private int arity;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private long[] keys;
+    private long[] initialKeys;
+    private Integer[] values;
+    private long[] drainedKeys;
+    private Object[] drainedValues;
+    private DaryHeap<Integer> heap;
+    private PriorityQueue<Long> priorityQueue;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        keys = new long[KEY_COUNT];
+        for(int i = 0; i < KEY_COUNT; i++)
+            keys[i] = random.nextLong();
+        values = new Integer[size];
+        initialKeys = new long[size];
+        for(int i = 0; i < size; i++) {
+            values[i] = VALUE;
+            initialKeys[i] = random.nextLong();
+        }
+        drainedKeys = new long[BATCH];
+        drainedValues = new Object[BATCH];
+        heap = new DaryHeap<>(arity, size + BATCH);
+        priorityQueue = new PriorityQueue<>(size + 1);
+        for(int i = 0; i < size; i++) {
+            heap.insert(initialKeys[i], VALUE);
+            priorityQueue.add(initialKeys[i]);
+        }
+    }
+
+    private long nextKey() {
+        return keys[cursor++ & (KEY_COUNT - 1)];
+    }
+
+    @Benchmark
+    public Integer insertPop() {
+        heap.insert(nextKey(), VALUE);
+        return heap.pop();
+    }
+
+    @Benchmark
+    public Long priorityQueueAddPoll() {
+        priorityQueue.add(nextKey());
+        return priorityQueue.poll();
+    }
+
+    @Benchmark
+    public long decreaseKeyToMin() { // sifts a leaf all the way to the root, then pops it back out
+        int handle = heap.insert(Long.MAX_VALUE, VALUE);
+        heap.decreaseKey(handle, Long.MIN_VALUE);
+        long key = heap.peekKey();
+        heap.pop();
+        return key;
+    }
+
+    @Benchmark
+    public DaryHeap<Integer> heapify() { // O(n) build of a new heap
+        return DaryHeap.heapify(arity, initialKeys, values);
+    }
+
+    @Benchmark
+    public int drainAndRefill() { // pops the 64 smallest keys in one batch, then inserts 64 new ones
+        int count = heap.drainTo(drainedKeys, drainedValues);
+        for(int i = 0; i < count; i++)
+            heap.insert(nextKey(), VALUE);
+        return count;
+    }
+}
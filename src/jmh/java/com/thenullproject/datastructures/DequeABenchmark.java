@@ -0,0 +1,47 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * FIFO and LIFO use of {@link DequeA} against the per-node allocation of {@link QueueLL}, each benchmark fills a new
+ * structure from empty and drains it again.
+ */
+@State(Scope.Thread)
+public class DequeABenchmark {
+
+    private static final Integer VALUE = 42;
+
+    @Param({"100", "10000", "1000000"})
+    private int size;
+
+    @Benchmark
+    public void dequeFifo(Blackhole blackhole) {
+        DequeA<Integer> deque = new DequeA<>();
+        for(int i = 0; i < size; i++)
+            deque.offerLast(VALUE);
+        while(!deque.empty())
+            blackhole.consume(deque.pollFirst());
+    }
+
+    @Benchmark
+    public void dequeLifo(Blackhole blackhole) {
+        DequeA<Integer> deque = new DequeA<>();
+        for(int i = 0; i < size; i++)
+            deque.offerLast(VALUE);
+        while(!deque.empty())
+            blackhole.consume(deque.pollLast());
+    }
+
+    @Benchmark
+    public void queueLLFifo(Blackhole blackhole) {
+        QueueLL<Integer> queue = new QueueLL<>();
+        for(int i = 0; i < size; i++)
+            queue.enqueue(VALUE);
+        while(!queue.empty())
+            blackhole.consume(queue.dequeue());
+    }
+}
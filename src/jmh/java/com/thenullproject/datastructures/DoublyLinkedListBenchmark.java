@@ -0,0 +1,58 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Tail pops and repeated middle inserts on {@link DoublyLinkedList} against {@link LinkedList}. Every benchmark keeps
+ * the list size steady.
+ */
+@State(Scope.Thread)
+public class DoublyLinkedListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private LinkedList<Integer> linkedList;
+    private DoublyLinkedList<Integer> doublyLinkedList;
+    private DoublyLinkedList<Integer>.ListCursor cursor;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        linkedList = new LinkedList<>();
+        doublyLinkedList = new DoublyLinkedList<>();
+        for(int i = 0; i < size; i++) {
+            linkedList.pushBack(i);
+            doublyLinkedList.pushBack(i);
+        }
+        cursor = doublyLinkedList.cursor(size >> 1);
+    }
+
+    @Benchmark
+    public Integer linkedListPopBack() {
+        linkedList.pushBack(counter++);
+        return linkedList.popBack();
+    }
+
+    @Benchmark
+    public Integer doublyLinkedListPopBack() {
+        doublyLinkedList.pushBack(counter++);
+        return doublyLinkedList.popBack();
+    }
+
+    @Benchmark
+    public Integer doublyLinkedListIndexedInsert() {
+        doublyLinkedList.addBefore(size >> 1, counter++);
+        return doublyLinkedList.popFront();
+    }
+
+    @Benchmark
+    public Integer doublyLinkedListCursorInsert() {
+        cursor.insertBefore(counter++); // popFront keeps the cursor at the same index
+        return doublyLinkedList.popFront();
+    }
+}
@@ -0,0 +1,70 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Positional access and inserts on {@link IndexableSkipList} against {@link LinkedList} at 1e6 elements. Inserts are
+ * paired with a popFront so the size stays steady.
+ */
+@State(Scope.Thread)
+public class IndexableSkipListBenchmark {
+
+    private static final int INDEXES = 1024; // power of two, used as a mask
+
+    @Param({"1000000"})
+    private int size;
+
+    private LinkedList<Integer> linkedList;
+    private IndexableSkipList<Integer> skipList;
+    private int[] indexes;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        linkedList = new LinkedList<>();
+        skipList = new IndexableSkipList<>();
+        for(int i = 0; i < size; i++) {
+            linkedList.pushBack(i);
+            skipList.pushBack(i);
+        }
+
+        Random random = new Random(42);
+        indexes = new int[INDEXES];
+        for(int i = 0; i < INDEXES; i++)
+            indexes[i] = random.nextInt(size - 1);
+    }
+
+    @Benchmark
+    public Integer linkedListValueAt() {
+        return linkedList.valueAt(indexes[cursor++ & (INDEXES - 1)]);
+    }
+
+    @Benchmark
+    public Integer skipListValueAt() {
+        return skipList.valueAt(indexes[cursor++ & (INDEXES - 1)]);
+    }
+
+    @Benchmark
+    public Integer linkedListAddBefore() {
+        linkedList.addBefore(indexes[cursor++ & (INDEXES - 1)], cursor);
+        return linkedList.popFront();
+    }
+
+    @Benchmark
+    public Integer skipListAddBefore() {
+        skipList.addBefore(indexes[cursor++ & (INDEXES - 1)], cursor);
+        return skipList.popFront();
+    }
+
+    @Benchmark
+    public Integer skipListPushBackPopFront() {
+        skipList.pushBack(cursor++);
+        return skipList.popFront();
+    }
+}
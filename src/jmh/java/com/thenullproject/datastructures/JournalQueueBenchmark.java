@@ -0,0 +1,63 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Append and read throughput of {@link JournalQueue} for a range of record sizes, in a temporary directory. Records
+ * are drained as they are written, so segments keep rolling over and being deleted without filling the disk. Multiply
+ * the batch rate by BATCH * payload to compare against the device's sequential write bandwidth.
+ */
+@State(Scope.Thread)
+public class JournalQueueBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"64", "1024", "16384"})
+    private int payload;
+
+    private Path directory;
+    private JournalQueue journal;
+    private byte[] record;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = new JournalQueue(directory);
+        record = new byte[payload];
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try(Stream<Path> files = Files.walk(directory)) {
+            for(Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer appendPoll() {
+        journal.append(record, 0, payload);
+        return journal.poll();
+    }
+
+    @Benchmark
+    public int appendThenDrainBatch(Blackhole blackhole) {
+        for(int i = 0; i < BATCH; i++)
+            journal.append(record, 0, payload);
+        return journal.drainTo(blackhole::consume, BATCH);
+    }
+}
@@ -0,0 +1,92 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link LinkedList}. Steady-state benchmarks pair an insert with a removal so the list keeps its size,
+ * growth-heavy benchmarks build a new list from empty.
+ *
+ * The pooled variants push a pre-boxed value, so with the gc profiler they should show no allocation per operation.
+ */
+@State(Scope.Thread)
+public class LinkedListBenchmark {
+
+    private static final Integer VALUE = 1_000_000; // boxed once
+    private static final int POOL_CAPACITY = 1024;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private LinkedList<Integer> list;
+    private LinkedList<Integer> pooledList;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        list = new LinkedList<>();
+        pooledList = new LinkedList<>(POOL_CAPACITY);
+        for(int i = 0; i < size; i++) {
+            list.pushBack(i);
+            pooledList.pushBack(i);
+        }
+    }
+
+    // steady-state
+
+    @Benchmark
+    public Integer pushFrontPopFront() {
+        list.pushFront(cursor++);
+        return list.popFront();
+    }
+
+    @Benchmark
+    public Integer pushFrontPopFrontUnpooled() {
+        list.pushFront(VALUE);
+        return list.popFront();
+    }
+
+    @Benchmark
+    public Integer pushFrontPopFrontPooled() {
+        pooledList.pushFront(VALUE);
+        return pooledList.popFront();
+    }
+
+    @Benchmark
+    public Integer pushBackPopBack() { // popBack is O(n)
+        list.pushBack(cursor++);
+        return list.popBack();
+    }
+
+    @Benchmark
+    public Integer valueAtMiddle() {
+        return list.valueAt(size >> 1);
+    }
+
+    @Benchmark
+    public Integer addAfterMiddle() { // popFront keeps the size steady
+        list.addAfter(size >> 1, cursor++);
+        return list.popFront();
+    }
+
+    // growth-heavy
+
+    @Benchmark
+    public LinkedList<Integer> pushBackGrowth() {
+        LinkedList<Integer> grown = new LinkedList<>();
+        for(int i = 0; i < size; i++)
+            grown.pushBack(i);
+        return grown;
+    }
+
+    @Benchmark
+    public LinkedList<Integer> pushFrontGrowth() {
+        LinkedList<Integer> grown = new LinkedList<>();
+        for(int i = 0; i < size; i++)
+            grown.pushFront(i);
+        return grown;
+    }
+}
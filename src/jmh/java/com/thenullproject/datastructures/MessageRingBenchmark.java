@@ -0,0 +1,118 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Message handoff through {@link MessageRing}, with one producer (SINGLE mode) or three producers (MULTI mode) and
+ * one consumer reading batches of up to 64 messages. The claim group writes the payload in place with claim/commit,
+ * the write group copies it from a byte[]. Failed writes/reads are counted separately so the successful messages per
+ * second can be read from the written/read counters, and with the gc profiler no allocation should show up at all.
+ */
+@State(Scope.Group)
+public class MessageRingBenchmark {
+
+    private static final int BATCH = 64;
+    private static final int CAPACITY = 1 << 20;
+
+    @Param({"32", "256"})
+    private int payload;
+
+    private MessageRing singleProducerRing;
+    private MessageRing multiProducerRing;
+    private byte[] message;
+
+    @Setup
+    public void setup() {
+        singleProducerRing = new MessageRing(CAPACITY, MessageRing.ProducerMode.SINGLE);
+        multiProducerRing = new MessageRing(CAPACITY, MessageRing.ProducerMode.MULTI);
+        message = new byte[payload];
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters implements MessageRing.MessageHandler {
+        public long written;
+        public long writeFailed;
+        public long read;
+        public long readFailed;
+        long checksum;
+
+        @Override
+        public void onMessage(ByteBuffer buffer, int index, int length) {
+            checksum += buffer.get(index);
+        }
+    }
+
+    @Benchmark
+    @Group("singleProducerClaim")
+    @GroupThreads(1)
+    public void claimCommit(Counters counters) {
+        int index = singleProducerRing.claim(payload);
+        if(index < 0) {
+            counters.writeFailed++;
+            return;
+        }
+        ByteBuffer buffer = singleProducerRing.buffer();
+        for(int i = 0; i < payload; i += 8)
+            buffer.putLong(index + i, i);
+        singleProducerRing.commit(index);
+        counters.written++;
+    }
+
+    @Benchmark
+    @Group("singleProducerClaim")
+    @GroupThreads(1)
+    public void readSingle(Counters counters) {
+        read(singleProducerRing, counters);
+    }
+
+    @Benchmark
+    @Group("singleProducerWrite")
+    @GroupThreads(1)
+    public void writeSingle(Counters counters) {
+        if(singleProducerRing.write(message, 0, payload))
+            counters.written++;
+        else
+            counters.writeFailed++;
+    }
+
+    @Benchmark
+    @Group("singleProducerWrite")
+    @GroupThreads(1)
+    public void readSingleWritten(Counters counters) {
+        read(singleProducerRing, counters);
+    }
+
+    @Benchmark
+    @Group("multiProducerWrite")
+    @GroupThreads(3)
+    public void writeMulti(Counters counters) {
+        if(multiProducerRing.write(message, 0, payload))
+            counters.written++;
+        else
+            counters.writeFailed++;
+    }
+
+    @Benchmark
+    @Group("multiProducerWrite")
+    @GroupThreads(1)
+    public void readMulti(Counters counters) {
+        read(multiProducerRing, counters);
+    }
+
+    private static void read(MessageRing ring, Counters counters) {
+        int count = ring.read(counters, BATCH); // no method reference, so nothing is allocated per call
+        counters.read += count;
+        if(count == 0)
+            counters.readFailed++;
+    }
+}
@@ -0,0 +1,72 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Overhead of {@link Metrics}. These benchmarks run with metrics disabled and should match the equivalent
+ * {@link ArrayBenchmark}, {@link QueueABenchmark} and {@link LinkedListBenchmark} results, since the guarded calls are
+ * compiled away. {@link Enabled} runs the same operations in a fork with metrics turned on, for comparison.
+ */
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    private static final Integer VALUE = 1_000_000; // boxed once
+    private static final int SIZE = 1000;
+
+    private Array array;
+    private QueueA queue;
+    private QueueLL<Integer> linkedQueue;
+    private LinkedList<Integer> list;
+
+    @Setup
+    public void setup() {
+        array = new Array(SIZE);
+        queue = new QueueA();
+        linkedQueue = new QueueLL<>(16);
+        list = new LinkedList<>(16);
+        for(int i = 0; i < SIZE; i++) {
+            array.push(i);
+            list.pushBack(i);
+        }
+    }
+
+    @Benchmark
+    public Object arrayPushPop() {
+        array.push(VALUE);
+        return array.pop();
+    }
+
+    @Benchmark
+    public Object queueAEnqueueDequeue() {
+        queue.enqueue(VALUE);
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public Integer queueLLEnqueueDequeue() {
+        linkedQueue.enqueue(VALUE);
+        return linkedQueue.dequeue();
+    }
+
+    @Benchmark
+    public Integer linkedListPushPop() {
+        list.pushFront(VALUE);
+        return list.popFront();
+    }
+
+    @Benchmark
+    public Array arrayGrowth() { // resizes from 16 up to 1024
+        Array grown = new Array();
+        for(int i = 0; i < SIZE; i++)
+            grown.push(VALUE);
+        return grown;
+    }
+
+    @Fork(jvmArgsAppend = "-Dcom.thenullproject.datastructures.metrics=true")
+    public static class Enabled extends MetricsBenchmark {
+    }
+}
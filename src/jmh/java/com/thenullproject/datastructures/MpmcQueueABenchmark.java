@@ -0,0 +1,40 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Scaling of {@link MpmcQueueA} against {@link ArrayBlockingQueue}, every thread both offers and polls on the same
+ * shared queue.
+ */
+@State(Scope.Benchmark)
+public class MpmcQueueABenchmark {
+
+    private static final int CAPACITY = 1024;
+    private static final Integer VALUE = 42;
+
+    private MpmcQueueA<Integer> mpmc;
+    private ArrayBlockingQueue<Integer> arrayBlockingQueue;
+
+    @Setup
+    public void setup() {
+        mpmc = new MpmcQueueA<>(CAPACITY);
+        arrayBlockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+    }
+
+    @Benchmark
+    public Integer mpmc() {
+        mpmc.offer(VALUE);
+        return mpmc.poll();
+    }
+
+    @Benchmark
+    public Integer arrayBlockingQueue() {
+        arrayBlockingQueue.offer(VALUE);
+        return arrayBlockingQueue.poll();
+    }
+}
@@ -0,0 +1,70 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Indexed reads and updates on a 1e6 element {@link PersistentVector}, and building a vector by repeated append
+ * against a {@link PersistentVector.Builder}.
+ */
+@State(Scope.Thread)
+public class PersistentVectorBenchmark {
+
+    private static final int INDEXES = 1024; // power of two, used as a mask
+
+    @Param({"1000000"})
+    private int size;
+
+    private PersistentVector<Integer> vector;
+    private int[] indexes;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+        for(int i = 0; i < size; i++)
+            builder.append(i);
+        vector = builder.build();
+
+        Random random = new Random(42);
+        indexes = new int[INDEXES];
+        for(int i = 0; i < INDEXES; i++)
+            indexes[i] = random.nextInt(size);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return vector.get(indexes[cursor++ & (INDEXES - 1)]);
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> set() {
+        return vector.set(indexes[cursor++ & (INDEXES - 1)], cursor);
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> appendPop() {
+        return vector.append(cursor++).pop();
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> buildByAppend() {
+        PersistentVector<Integer> temp = PersistentVector.empty();
+        for(int i = 0; i < 10_000; i++)
+            temp = temp.append(i);
+        return temp;
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> buildWithBuilder() {
+        PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+        for(int i = 0; i < 10_000; i++)
+            builder.append(i);
+        return builder.build();
+    }
+}
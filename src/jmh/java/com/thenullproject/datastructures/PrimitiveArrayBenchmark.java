@@ -0,0 +1,105 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the primitive arrays against the boxed {@link Array}, both for building an array from empty and for
+ * summing a pre-filled one. Run with the gc profiler to see the difference in allocation rate.
+ */
+@State(Scope.Thread)
+public class PrimitiveArrayBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    private int size;
+
+    private Array boxed;
+    private IntArray ints;
+    private LongArray longs;
+    private DoubleArray doubles;
+
+    @Setup
+    public void setup() {
+        boxed = new Array(size);
+        ints = new IntArray(size);
+        longs = new LongArray(size);
+        doubles = new DoubleArray(size);
+        for(int i = 0; i < size; i++) {
+            boxed.push((long) i);
+            ints.push(i);
+            longs.push(i);
+            doubles.push(i);
+        }
+    }
+
+    // growth
+
+    @Benchmark
+    public Array pushBoxed() {
+        Array array = new Array();
+        for(int i = 0; i < size; i++)
+            array.push((long) i);
+        return array;
+    }
+
+    @Benchmark
+    public IntArray pushInt() {
+        IntArray array = new IntArray();
+        for(int i = 0; i < size; i++)
+            array.push(i);
+        return array;
+    }
+
+    @Benchmark
+    public LongArray pushLong() {
+        LongArray array = new LongArray();
+        for(int i = 0; i < size; i++)
+            array.push(i);
+        return array;
+    }
+
+    @Benchmark
+    public DoubleArray pushDouble() {
+        DoubleArray array = new DoubleArray();
+        for(int i = 0; i < size; i++)
+            array.push(i);
+        return array;
+    }
+
+    // traversal
+
+    @Benchmark
+    public long sumBoxed() {
+        long sum = 0;
+        for(int i = 0; i < size; i++)
+            sum += (Long) boxed.get(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long sumInt() {
+        long sum = 0;
+        for(int i = 0; i < size; i++)
+            sum += ints.get(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long sumLong() {
+        long sum = 0;
+        for(int i = 0; i < size; i++)
+            sum += longs.get(i);
+        return sum;
+    }
+
+    @Benchmark
+    public double sumDouble() {
+        double sum = 0;
+        for(int i = 0; i < size; i++)
+            sum += doubles.get(i);
+        return sum;
+    }
+}
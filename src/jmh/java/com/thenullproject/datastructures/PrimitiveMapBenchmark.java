@@ -0,0 +1,159 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Benchmarks for {@link LongObjectMap} and {@link LongLongMap} against {@link HashMap}, which boxes every key (and
+ * value for HashMap&lt;Long, Long&gt;) and allocates an entry per mapping. Keys are random longs, lookups cycle through
+ * a pre-generated sequence of present (hit) or absent (miss) keys. Steady-state benchmarks pair a put with a remove so
+ * the maps keep their size.
+ */
+@State(Scope.Thread)
+public class PrimitiveMapBenchmark {
+
+    private static final Object VALUE = new Object();
+    private static final Long BOXED_VALUE = 42L; // boxed once
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private long[] present;
+    private long[] absent;
+    private LongObjectMap<Object> longObjectMap;
+    private LongLongMap longLongMap;
+    private HashMap<Long, Object> hashMap;
+    private HashMap<Long, Long> longHashMap;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        present = new long[size];
+        absent = new long[size];
+        longObjectMap = new LongObjectMap<>();
+        longLongMap = new LongLongMap();
+        hashMap = new HashMap<>();
+        longHashMap = new HashMap<>();
+        for(int i = 0; i < size; i++) {
+            long key = random.nextLong();
+            present[i] = key;
+            longObjectMap.put(key, VALUE);
+            longLongMap.put(key, i);
+            hashMap.put(key, VALUE);
+            longHashMap.put(key, (long) i);
+        }
+        for(int i = 0; i < size; i++) {
+            long key;
+            do {
+                key = random.nextLong();
+            } while(longLongMap.containsKey(key));
+            absent[i] = key;
+        }
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = i + 1 == size ? 0 : i + 1;
+        return i;
+    }
+
+    // lookups
+
+    @Benchmark
+    public Object longObjectMapGetHit() {
+        return longObjectMap.get(present[next()]);
+    }
+
+    @Benchmark
+    public Object hashMapGetHit() {
+        return hashMap.get(present[next()]);
+    }
+
+    @Benchmark
+    public Object longObjectMapGetMiss() {
+        return longObjectMap.get(absent[next()]);
+    }
+
+    @Benchmark
+    public Object hashMapGetMiss() {
+        return hashMap.get(absent[next()]);
+    }
+
+    @Benchmark
+    public long longLongMapGetHit() {
+        return longLongMap.get(present[next()]);
+    }
+
+    @Benchmark
+    public Long longHashMapGetHit() {
+        return longHashMap.get(present[next()]);
+    }
+
+    // steady-state
+
+    @Benchmark
+    public Object longObjectMapPutRemove() {
+        long key = absent[next()];
+        longObjectMap.put(key, VALUE);
+        return longObjectMap.remove(key);
+    }
+
+    @Benchmark
+    public Object hashMapPutRemove() {
+        long key = absent[next()];
+        hashMap.put(key, VALUE);
+        return hashMap.remove(key);
+    }
+
+    @Benchmark
+    public long longLongMapPutRemove() {
+        long key = absent[next()];
+        longLongMap.put(key, 42);
+        return longLongMap.remove(key);
+    }
+
+    @Benchmark
+    public Long longHashMapPutRemove() {
+        long key = absent[next()];
+        longHashMap.put(key, BOXED_VALUE);
+        return longHashMap.remove(key);
+    }
+
+    // iteration
+
+    @Benchmark
+    public void longObjectMapForEach(Blackhole blackhole) {
+        longObjectMap.forEach((key, value) -> blackhole.consume(key));
+    }
+
+    @Benchmark
+    public void hashMapForEach(Blackhole blackhole) {
+        hashMap.forEach((key, value) -> blackhole.consume(key));
+    }
+
+    // growth-heavy
+
+    @Benchmark
+    public LongLongMap longLongMapGrowth() {
+        LongLongMap grown = new LongLongMap();
+        for(int i = 0; i < size; i++)
+            grown.put(present[i], i);
+        return grown;
+    }
+
+    @Benchmark
+    public HashMap<Long, Long> longHashMapGrowth() {
+        HashMap<Long, Long> grown = new HashMap<>();
+        for(int i = 0; i < size; i++)
+            grown.put(present[i], BOXED_VALUE);
+        return grown;
+    }
+}
@@ -0,0 +1,52 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link QueueA}. The queue has a fixed capacity of 8 so it is not parameterized by size, the
+ * fill and drain benchmark covers a full lap of the circular buffer.
+ */
+@State(Scope.Thread)
+public class QueueABenchmark {
+
+    private static final int CAPACITY = 8;
+
+    private QueueA queue;
+    private Object[] batch;
+    private Object[] drained;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        queue = new QueueA();
+        batch = new Object[CAPACITY];
+        for(int i = 0; i < CAPACITY; i++)
+            batch[i] = i;
+        drained = new Object[CAPACITY];
+    }
+
+    @Benchmark
+    public Object enqueueDequeue() {
+        queue.enqueue(cursor++);
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public void fillAndDrain(Blackhole blackhole) {
+        for(int i = 0; i < CAPACITY; i++)
+            queue.enqueue(i);
+        while(!queue.empty())
+            blackhole.consume(queue.dequeue());
+    }
+
+    @Benchmark
+    public Object[] fillAndDrainBatch() {
+        queue.enqueueAll(batch, 0, CAPACITY);
+        queue.drainTo(drained);
+        return drained;
+    }
+}
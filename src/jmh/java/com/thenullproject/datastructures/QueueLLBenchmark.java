@@ -0,0 +1,84 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link QueueLL}. The steady-state benchmark works on a pre-filled queue, the growth-heavy benchmark
+ * enqueues into an empty queue and drains it again.
+ *
+ * The pooled variants enqueue a pre-boxed value, so with the gc profiler they should show no allocation per operation
+ * once the pool is warm, against one node per operation for the unpooled queue.
+ */
+@State(Scope.Thread)
+public class QueueLLBenchmark {
+
+    private static final Integer VALUE = 1_000_000; // boxed once
+    private static final int POOL_CAPACITY = 1024;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private QueueLL<Integer> queue;
+    private QueueLL<Integer> pooledQueue;
+    private Integer[] batch;
+    private Object[] drained;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        queue = new QueueLL<>();
+        pooledQueue = new QueueLL<>(POOL_CAPACITY);
+        for(int i = 0; i < size; i++) {
+            queue.enqueue(i);
+            pooledQueue.enqueue(i);
+        }
+        batch = new Integer[size];
+        for(int i = 0; i < size; i++)
+            batch[i] = i;
+        drained = new Object[size];
+    }
+
+    // steady-state
+
+    @Benchmark
+    public Integer enqueueDequeue() {
+        queue.enqueue(cursor++);
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public Integer enqueueDequeueUnpooled() {
+        queue.enqueue(VALUE);
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public Integer enqueueDequeuePooled() {
+        pooledQueue.enqueue(VALUE);
+        return pooledQueue.dequeue();
+    }
+
+    // growth-heavy
+
+    @Benchmark
+    public void fillAndDrain(Blackhole blackhole) {
+        QueueLL<Integer> grown = new QueueLL<>();
+        for(int i = 0; i < size; i++)
+            grown.enqueue(i);
+        while(!grown.empty())
+            blackhole.consume(grown.dequeue());
+    }
+
+    @Benchmark
+    public Object[] fillAndDrainBatch() {
+        QueueLL<Integer> grown = new QueueLL<>();
+        grown.enqueueAll(batch, 0, size);
+        grown.drainTo(drained);
+        return drained;
+    }
+}
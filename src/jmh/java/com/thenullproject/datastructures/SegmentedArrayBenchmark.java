@@ -0,0 +1,70 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * {@link SegmentedArray} against {@link Array}. The growth benchmarks build an array from empty, so Array pays for
+ * every doubling copy while SegmentedArray only allocates segments. The get benchmarks show the cost of the two extra
+ * directory loads on random reads.
+ */
+@State(Scope.Thread)
+public class SegmentedArrayBenchmark {
+
+    private static final int INDEXES = 1024; // power of two, used as a mask
+    private static final Integer VALUE = 42;
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private Array array;
+    private SegmentedArray<Integer> segmentedArray;
+    private int[] indexes;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        array = new Array();
+        segmentedArray = new SegmentedArray<>();
+        for(int i = 0; i < size; i++) {
+            array.push(VALUE);
+            segmentedArray.push(VALUE);
+        }
+
+        Random random = new Random(42);
+        indexes = new int[INDEXES];
+        for(int i = 0; i < INDEXES; i++)
+            indexes[i] = random.nextInt(size);
+    }
+
+    @Benchmark
+    public Object arrayGet() {
+        return array.get(indexes[cursor++ & (INDEXES - 1)]);
+    }
+
+    @Benchmark
+    public Integer segmentedArrayGet() {
+        return segmentedArray.get(indexes[cursor++ & (INDEXES - 1)]);
+    }
+
+    @Benchmark
+    public Array arrayPushGrowth() {
+        Array grown = new Array();
+        for(int i = 0; i < size; i++)
+            grown.push(VALUE);
+        return grown;
+    }
+
+    @Benchmark
+    public SegmentedArray<Integer> segmentedArrayPushGrowth() {
+        SegmentedArray<Integer> grown = new SegmentedArray<>();
+        for(int i = 0; i < size; i++)
+            grown.push(VALUE);
+        return grown;
+    }
+}
@@ -0,0 +1,89 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Handoff throughput between one producer and one consumer thread. Failed offers/polls are counted separately so the
+ * successful handoffs per second can be read from the offered/polled counters. The batch group moves up to 64 items
+ * per call with offerAll/drainTo.
+ */
+@State(Scope.Group)
+public class SpscQueueABenchmark {
+
+    private static final Integer VALUE = 42;
+    private static final int BATCH = 64;
+    private static final Integer[] VALUES = new Integer[BATCH];
+
+    static {
+        for(int i = 0; i < BATCH; i++)
+            VALUES[i] = i;
+    }
+
+    @Param({"1024", "65536"})
+    private int capacity;
+
+    private SpscQueueA<Integer> queue;
+
+    @Setup
+    public void setup() {
+        queue = new SpscQueueA<>(capacity);
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long offered;
+        public long offerFailed;
+        public long polled;
+        public long pollFailed;
+
+        void drained(Integer value) {
+            polled++;
+        }
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void offer(Counters counters) {
+        if(queue.offer(VALUE))
+            counters.offered++;
+        else
+            counters.offerFailed++;
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void poll(Counters counters) {
+        if(queue.poll() != null)
+            counters.polled++;
+        else
+            counters.pollFailed++;
+    }
+
+    @Benchmark
+    @Group("batchHandoff")
+    @GroupThreads(1)
+    public void offerAll(Counters counters) {
+        int count = queue.offerAll(VALUES, 0, BATCH);
+        counters.offered += count;
+        if(count == 0)
+            counters.offerFailed++;
+    }
+
+    @Benchmark
+    @Group("batchHandoff")
+    @GroupThreads(1)
+    public void drainTo(Counters counters) {
+        if(queue.drainTo(counters::drained, BATCH) == 0)
+            counters.pollFailed++;
+    }
+}
@@ -0,0 +1,54 @@
+package com.thenullproject.datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Indexed access and middle inserts on {@link UnrolledLinkedList} against {@link LinkedList}. Inserts are paired with
+ * a popFront so the size stays steady.
+ */
+@State(Scope.Thread)
+public class UnrolledLinkedListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private LinkedList<Integer> linkedList;
+    private UnrolledLinkedList<Integer> unrolled;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        linkedList = new LinkedList<>();
+        unrolled = new UnrolledLinkedList<>();
+        for(int i = 0; i < size; i++) {
+            linkedList.pushBack(i);
+            unrolled.pushBack(i);
+        }
+    }
+
+    @Benchmark
+    public Integer linkedListValueAt() {
+        return linkedList.valueAt(size / 3);
+    }
+
+    @Benchmark
+    public Integer unrolledValueAt() {
+        return unrolled.valueAt(size / 3);
+    }
+
+    @Benchmark
+    public Integer linkedListAddAfter() {
+        linkedList.addAfter(size / 3, cursor++);
+        return linkedList.popFront();
+    }
+
+    @Benchmark
+    public Integer unrolledAddAfter() {
+        unrolled.addAfter(size / 3, cursor++);
+        return unrolled.popFront();
+    }
+}
@@ -1,11 +1,34 @@
 package com.thenullproject.datastructures;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A simple custom implementation of a dynamic array (mutable array with automatic resizing)
+ *
+ * The capacity is always a power of two (at least 16, at most 2^30), growing doubles it. Asking for more than 2^30
+ * values throws an OutOfMemoryError. Resizes and shifts use System.arraycopy, and
+ * slots that are vacated by removals are cleared so the array doesn't keep references to removed items.
+ *
+ * The parallel operations split the array in halves on the common fork/join pool until a range is smaller than
+ * PARALLEL_THRESHOLD, which is then processed sequentially. The array must not be modified while one is running.
+ *
+ * Operations, resizes and the high-water size are recorded in {@link Metrics} when it is enabled.
  */
 public class Array {
 
     private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30; // largest power of two an array can have
+    private static final int PARALLEL_THRESHOLD = 1 << 13; // ranges below this aren't worth splitting
 
     private Object[] arr;
     private int capacity;
@@ -18,10 +41,12 @@ public class Array {
     public Array(int initialCapacity) {
         if(initialCapacity <= 0)
             throw new IllegalArgumentException("Initial size cannot be less than or equal to zero.");
+        else if(initialCapacity > MAX_CAPACITY)
+            throw new OutOfMemoryError("Required array size too large");
         else if(initialCapacity <= INITIAL_CAPACITY)
             capacity = INITIAL_CAPACITY;
         else
-            capacity = Integer.highestOneBit(initialCapacity) << 1;
+            capacity = (int) Math.min((long) Integer.highestOneBit(initialCapacity) << 1, MAX_CAPACITY);
         arr = new Object[capacity];
         size = 0;
     }
@@ -37,29 +62,180 @@ public class Array {
     }
 
     public void push(Object value) {
-        if(size == capacity) {
-            // allocate new array
-            // Object[] temp = Arrays.copyOf(arr, Integer.highestOneBit(capacity) << 1);
-            Object[] temp = new Object[capacity << 1];
-            for(int i = 0; i < arr.length; i++)
-                temp[i] = arr[i];
-            arr = temp;
-            capacity = capacity << 1;
-        }
+        if(size == capacity)
+            grow(size + 1);
         arr[size++] = value;
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.operation(size);
+    }
+
+    /**
+     * Push all values to the end of the array, growing at most once. O(k) operation.
+     * @param values values to push
+     */
+    public void pushAll(Object[] values) {
+        insertAll(size, values);
+    }
+
+    /**
+     * Push all values of another array to the end of this one, growing at most once. O(k) operation.
+     * @param other array whose values to push, may be this array
+     */
+    public void pushAll(Array other) {
+        int count = other.size;
+        ensureCapacity(size + count);
+        System.arraycopy(other.arr, 0, arr, size, count);
+        size += count;
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.operations(count, size);
+    }
+
+    /**
+     * Insert value at index i, shifting the value at i and everything after it up by one. O(n) operation.
+     * @param i index to insert at, from 0 to size (inclusive)
+     * @param value value to insert
+     */
+    public void insert(int i, Object value) {
+        checkPositionWithinBounds(i);
+        if(size == capacity)
+            grow(size + 1);
+        System.arraycopy(arr, i, arr, i + 1, size - i);
+        arr[i] = value;
+        size++;
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.operation(size);
+    }
+
+    /**
+     * Insert all values starting at index i, shifting the existing values up once rather than once per value.
+     * O(n + k) operation.
+     * @param i index to insert at, from 0 to size (inclusive)
+     * @param values values to insert
+     */
+    public void insertAll(int i, Object[] values) {
+        checkPositionWithinBounds(i);
+        int count = values.length;
+        ensureCapacity(size + count);
+        System.arraycopy(arr, i, arr, i + count, size - i);
+        System.arraycopy(values, 0, arr, i, count);
+        size += count;
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.operations(count, size);
     }
 
     public Object pop() {
-        if(size > 0)
-            return arr[--size];
+        if(size > 0) {
+            Object value = arr[--size];
+            arr[size] = null;
+            if(Metrics.ENABLED)
+                Metrics.ARRAY.operation();
+            return value;
+        }
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.empty();
         throw new IndexOutOfBoundsException("Cannot pop off empty list");
     }
 
     public void remove(int i) {
         checkIndexWithinBounds(i);
-        for(int j = i; j < size - 1; j++)
-            arr[j] = arr[j+1];
-        size--;
+        System.arraycopy(arr, i + 1, arr, i, size - i - 1);
+        arr[--size] = null;
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.operation();
+    }
+
+    /**
+     * Remove the values from index from (inclusive) to index to (exclusive), shifting the rest down in one copy.
+     * O(n) operation.
+     * @param from index of the first value to remove
+     * @param to index after the last value to remove
+     */
+    public void removeRange(int from, int to) {
+        if(from < 0 || to > size || from > to)
+            throw new IndexOutOfBoundsException("Provided range is out of bounds");
+        System.arraycopy(arr, to, arr, from, size - to);
+        int newSize = size - (to - from);
+        Arrays.fill(arr, newSize, size, null);
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.operations(size - newSize);
+        size = newSize;
+    }
+
+    /**
+     * Grow the array, if needed, so it can hold at least minCapacity values without another resize.
+     * @param minCapacity number of values the array should be able to hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if(minCapacity > capacity)
+            grow(minCapacity);
+    }
+
+    /**
+     * Shrink the array to the smallest power of two (at least 16) that holds its values.
+     */
+    public void trimToSize() {
+        int trimmed = Math.max(INITIAL_CAPACITY, 1 << (32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 1))));
+        if(trimmed < capacity) {
+            if(Metrics.ENABLED)
+                Metrics.ARRAY.resize(capacity, trimmed, trimmed);
+            arr = Arrays.copyOf(arr, trimmed);
+            capacity = trimmed;
+        }
+    }
+
+    // streams and parallel operations
+
+    /**
+     * @return a SIZED, SUBSIZED and ORDERED spliterator over the values, splitting evenly in halves
+     */
+    public Spliterator<Object> spliterator() {
+        return Spliterators.spliterator(arr, 0, size, Spliterator.ORDERED);
+    }
+
+    public Stream<Object> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<Object> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Perform action on every value, in no particular order, using the fork/join pool for large arrays.
+     * @param action action to perform, values are assumed to be of type T
+     */
+    public <T> void parallelForEach(Consumer<? super T> action) {
+        ForkJoinPool.commonPool().invoke(new ForEachTask<T>(arr, 0, size, action));
+    }
+
+    /**
+     * Combine all values with an associative operator, using the fork/join pool for large arrays.
+     * @param identity identity value for op, returned for an empty array
+     * @param op associative operator, values are assumed to be of type T
+     * @return result of combining every value
+     */
+    public <T> T parallelReduce(T identity, BinaryOperator<T> op) {
+        return ForkJoinPool.commonPool().invoke(new ReduceTask<>(arr, 0, size, identity, op));
+    }
+
+    /**
+     * Sort the values using the fork/join merge sort of {@link Arrays#parallelSort(Object[], int, int, Comparator)},
+     * which sorts sequentially below its own granularity threshold.
+     * @param comparator comparator for the values, which are assumed to be of type T
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void parallelSort(Comparator<? super T> comparator) {
+        Arrays.parallelSort((T[]) arr, 0, size, comparator);
+    }
+
+    /**
+     * Replace every value with the cumulative result of op applied to it and all values before it, in parallel
+     * using {@link Arrays#parallelPrefix(Object[], int, int, BinaryOperator)}.
+     * @param op associative operator, values are assumed to be of type T
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void parallelPrefix(BinaryOperator<T> op) {
+        Arrays.parallelPrefix((T[]) arr, 0, size, op);
     }
 
     public int size() {
@@ -72,6 +248,88 @@ public class Array {
 
     // private methods
 
+    private void grow(int minCapacity) {
+        if(minCapacity < 0 || minCapacity > MAX_CAPACITY) // overflowed, or past the largest power of two
+            throw new OutOfMemoryError("Required array size too large");
+        int newCapacity = capacity;
+        while(newCapacity < minCapacity)
+            newCapacity = newCapacity << 1;
+        if(Metrics.ENABLED)
+            Metrics.ARRAY.resize(capacity, newCapacity, capacity); // copyOf copies the whole old array
+        // allocate new array
+        arr = Arrays.copyOf(arr, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static class ForEachTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L; // ForkJoinTask is Serializable, these are never serialized
+
+        private final Object[] arr;
+        private final int from;
+        private final int to;
+        private final Consumer<? super T> action;
+
+        ForEachTask(Object[] arr, int from, int to, Consumer<? super T> action) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if(to - from <= PARALLEL_THRESHOLD) {
+                for(int i = from; i < to; i++)
+                    action.accept((T) arr[i]);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ForEachTask<T>(arr, from, middle, action), new ForEachTask<T>(arr, middle, to, action));
+            }
+        }
+    }
+
+    private static class ReduceTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L; // ForkJoinTask is Serializable, these are never serialized
+
+        private final Object[] arr;
+        private final int from;
+        private final int to;
+        private final T identity;
+        private final BinaryOperator<T> op;
+
+        ReduceTask(Object[] arr, int from, int to, T identity, BinaryOperator<T> op) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.identity = identity;
+            this.op = op;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected T compute() {
+            if(to - from <= PARALLEL_THRESHOLD) {
+                T result = identity;
+                for(int i = from; i < to; i++)
+                    result = op.apply(result, (T) arr[i]);
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            ReduceTask<T> left = new ReduceTask<>(arr, from, middle, identity, op);
+            left.fork();
+            T right = new ReduceTask<>(arr, middle, to, identity, op).compute();
+            return op.apply(left.join(), right);
+        }
+    }
+
+    private void checkPositionWithinBounds(int i) {
+        if(i < 0 || i > size)
+            throw new IndexOutOfBoundsException("Provided index is out of bounds");
+    }
+
     private void checkIndexWithinBounds(int i) {
         if(i < 0 || i >= size)
             throw new IndexOutOfBoundsException("Provided index is out of bounds");
@@ -0,0 +1,201 @@
+package com.thenullproject.datastructures;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded blocking circular queue. It adds put and take, which wait for a free slot or an item, and offer and poll
+ * with a timeout, to the lock-free circular buffer of {@link MpmcQueueA}. The non-blocking offer and poll still work
+ * as before.
+ *
+ * How a thread waits is chosen per queue with a {@link WaitStrategy}, trading CPU for latency:
+ *  - BUSY_SPIN retries in a tight loop, the lowest latency but a whole core per waiting thread
+ *  - YIELD gives up the rest of its time slice between retries
+ *  - BACKOFF spins, then yields, then parks for exponentially longer periods (1us up to 1ms)
+ *  - PARK parks until another thread makes room or adds an item, and uses no CPU while waiting
+ *
+ * In PARK mode waiting threads register themselves on a waiter list and check the queue again before parking, and a
+ * successful offer or poll unparks the first waiter on the other side. A waiter that leaves the list while the queue
+ * still has room or items passes the wakeup on to the next one, so a wakeup meant for a thread that has already
+ * given up isn't lost.
+ *
+ * Waiting only uses {@link LockSupport} and {@link Thread#yield()}, never synchronized or Object.wait, so virtual
+ * threads unmount from their carrier thread while they wait instead of pinning it.
+ *
+ * Null values are not allowed, poll uses null to signal an empty queue.
+ */
+public class BlockingQueueA<T> extends MpmcQueueA<T> {
+
+    public enum WaitStrategy { BUSY_SPIN, YIELD, BACKOFF, PARK }
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_BACKOFF_NANOS = 1_000;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000;
+
+    private final WaitStrategy strategy;
+    private final boolean parking;
+    private final ConcurrentLinkedQueue<Thread> consumers = new ConcurrentLinkedQueue<>(); // parked waiting for an item
+    private final ConcurrentLinkedQueue<Thread> producers = new ConcurrentLinkedQueue<>(); // parked waiting for room
+
+    public BlockingQueueA() {
+        this(WaitStrategy.PARK);
+    }
+
+    public BlockingQueueA(WaitStrategy strategy) {
+        this.strategy = strategy;
+        parking = strategy == WaitStrategy.PARK;
+    }
+
+    /**
+     * @param capacity maximum number of items, rounded up to the next power of two (at least 2)
+     * @param strategy how threads wait for room or items
+     */
+    public BlockingQueueA(int capacity, WaitStrategy strategy) {
+        super(capacity);
+        this.strategy = strategy;
+        parking = strategy == WaitStrategy.PARK;
+    }
+
+    /**
+     * Add item to the queue without waiting. O(1) operation, lock-free.
+     * @param value value to add
+     * @return true if the item was added, false if the queue is full
+     */
+    @Override
+    public boolean offer(T value) {
+        if(!super.offer(value))
+            return false;
+        if(parking)
+            signal(consumers);
+        return true;
+    }
+
+    /**
+     * Removes and returns item from the queue without waiting. O(1) operation, lock-free.
+     * @return the least-recently added item in the queue, or null if the queue is empty
+     */
+    @Override
+    public T poll() {
+        T value = super.poll();
+        if(value != null && parking)
+            signal(producers);
+        return value;
+    }
+
+    /**
+     * Add item to the queue, waiting for room if it is full.
+     * @param value value to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void put(T value) throws InterruptedException {
+        offerWaiting(value, false, 0);
+    }
+
+    /**
+     * Add item to the queue, waiting up to timeout for room if it is full.
+     * @param value value to add
+     * @param timeout how long to wait
+     * @param unit unit of timeout
+     * @return true if the item was added, false if the queue was still full after timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean offer(T value, long timeout, TimeUnit unit) throws InterruptedException {
+        return offerWaiting(value, true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Removes and returns item from the queue, waiting for one if it is empty.
+     * @return the least-recently added item in the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        return pollWaiting(false, 0);
+    }
+
+    /**
+     * Removes and returns item from the queue, waiting up to timeout for one if it is empty.
+     * @param timeout how long to wait
+     * @param unit unit of timeout
+     * @return the least-recently added item in the queue, or null if the queue was still empty after timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return pollWaiting(true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    public WaitStrategy strategy() {
+        return strategy;
+    }
+
+    // private methods
+
+    private boolean offerWaiting(T value, boolean timed, long deadline) throws InterruptedException {
+        for(int attempt = 0; !offer(value); attempt++) {
+            long remaining = timed ? deadline - System.nanoTime() : Long.MAX_VALUE;
+            if(remaining <= 0)
+                return false;
+            await(attempt, producers, false, timed, remaining);
+        }
+        return true;
+    }
+
+    private T pollWaiting(boolean timed, long deadline) throws InterruptedException {
+        T value;
+        for(int attempt = 0; (value = poll()) == null; attempt++) {
+            long remaining = timed ? deadline - System.nanoTime() : Long.MAX_VALUE;
+            if(remaining <= 0)
+                return null;
+            await(attempt, consumers, true, timed, remaining);
+        }
+        return value;
+    }
+
+    private void await(int attempt, ConcurrentLinkedQueue<Thread> waiters, boolean forItem, boolean timed,
+                       long remaining) throws InterruptedException {
+        if(Thread.interrupted())
+            throw new InterruptedException();
+        switch(strategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELD -> Thread.yield();
+            case BACKOFF -> backOff(attempt, remaining);
+            case PARK -> park(waiters, forItem, timed, remaining);
+        }
+    }
+
+    private void park(ConcurrentLinkedQueue<Thread> waiters, boolean forItem, boolean timed, long remaining) {
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            // checked after registering, an offer or poll either happened before and is seen here, or sees the waiter
+            if(forItem ? empty() : full()) {
+                if(timed)
+                    LockSupport.parkNanos(this, remaining);
+                else
+                    LockSupport.park(this);
+            }
+        } finally {
+            waiters.remove(current);
+        }
+        if(!(forItem ? empty() : full())) // the wakeup may have been meant for another waiter as well
+            signal(waiters);
+    }
+
+    private static void backOff(int attempt, long remaining) {
+        if(attempt < SPIN_TRIES)
+            Thread.onSpinWait();
+        else if(attempt < SPIN_TRIES + YIELD_TRIES)
+            Thread.yield();
+        else {
+            int shift = Math.min(attempt - SPIN_TRIES - YIELD_TRIES, 10);
+            LockSupport.parkNanos(Math.min(remaining, Math.min(MIN_BACKOFF_NANOS << shift, MAX_BACKOFF_NANOS)));
+        }
+    }
+
+    private static void signal(ConcurrentLinkedQueue<Thread> waiters) {
+        Thread waiter = waiters.peek();
+        if(waiter != null)
+            LockSupport.unpark(waiter);
+    }
+}
@@ -0,0 +1,219 @@
+package com.thenullproject.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An append-only dynamic array that any number of threads can push to and read from without locking.
+ *
+ * A push reserves its index with a single atomic increment of the reserved counter, then writes its value into that
+ * slot with a release store. Like {@link SegmentedArray} the values live in segments that are never copied or moved,
+ * but here segment k holds 32 << k values, so the 26 segments of the directory cover every int index and the directory
+ * never has to grow while other threads are reading it. Index i is at offset j - highestOneBit(j) of segment
+ * log2(j) - 5, where j = i + 32.
+ *
+ * Each segment is allocated ahead of time by the thread that reserves the middle index of the segment before it, so
+ * pushes don't race to allocate (and throw away) large arrays. A pusher only waits if it gets a whole half segment
+ * ahead of that allocation.
+ *
+ * Pushes finish in any order, so an index is only readable once its value has been written. get is wait-free, it
+ * either finds the value or throws. size is the published high-water mark, the length of the prefix of indexes that
+ * have all been written. It is moved forward lazily by readers, so pushes never contend on it. Iterators are snapshots
+ * of that prefix.
+ *
+ * Null values are not allowed, an empty slot is how a reader tells the value hasn't been written yet.
+ */
+public class ConcurrentAppendArray<T> extends ConcurrentAppendArrayPad2 implements Iterable<T> {
+
+    private static final int FIRST_SHIFT = 5;
+    private static final int FIRST_SIZE = 1 << FIRST_SHIFT; // values in segment 0
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_SIZE + 1; // index + FIRST_SIZE must fit in an int
+    private static final VarHandle SEGMENT = MethodHandles.arrayElementVarHandle(Object[][].class);
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Object[][] segments = new Object[31 - FIRST_SHIFT][];
+
+    public ConcurrentAppendArray() {
+        segments[0] = new Object[FIRST_SIZE];
+    }
+
+    /**
+     * Push value to the end of the array. O(1) operation, lock-free unless the next segment is still being allocated.
+     * @param value value to push
+     * @return index the value was written at
+     */
+    public int push(T value) {
+        if(value == null)
+            throw new NullPointerException("Null values are not supported");
+        long index = reserve(1);
+        write(index, value);
+        return (int) index;
+    }
+
+    /**
+     * Push len values from src, starting at index from, to consecutive indexes with one atomic increment.
+     * @param src values to push, must not contain null
+     * @param from index of the first value in src
+     * @param len number of values to push
+     * @return index the first value was written at
+     */
+    public int pushAll(T[] src, int from, int len) {
+        Objects.checkFromIndexSize(from, len, src.length);
+        for(int i = from; i < from + len; i++) {
+            if(src[i] == null)
+                throw new NullPointerException("Null values are not supported");
+        }
+        long index = reserve(len);
+        for(int i = 0; i < len; i++)
+            write(index + i, src[from + i]);
+        return (int) index;
+    }
+
+    /**
+     * Get the value at index i. Wait-free.
+     * @param i index returned by a push
+     * @return value at index i
+     * @throws IndexOutOfBoundsException if no value has been written at index i yet
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        if(i >= 0 && i < MAX_SIZE) {
+            int j = i + FIRST_SIZE;
+            Object[] segment = (Object[]) SEGMENT.getAcquire(segments, segmentOf(j));
+            if(segment != null) {
+                Object value = SLOT.getAcquire(segment, j - Integer.highestOneBit(j));
+                if(value != null)
+                    return (T) value;
+            }
+        }
+        throw new IndexOutOfBoundsException("Provided index is out of bounds");
+    }
+
+    /**
+     * Number of values in the published prefix, every index below it can be read. Values pushed at higher indexes
+     * are published once every push before them has finished.
+     * @return published high-water mark
+     */
+    public int size() {
+        long published = (long) PUBLISHED.getAcquire(this);
+        long reserved = Math.min((long) RESERVED.getVolatile(this), MAX_SIZE);
+        long next = published;
+        while(next < reserved && written(next))
+            next++;
+        while(published < next && !PUBLISHED.weakCompareAndSetRelease(this, published, next))
+            published = (long) PUBLISHED.getAcquire(this); // another reader may have moved it further
+        return (int) Math.max(next, published);
+    }
+
+    public boolean empty() {
+        return size() == 0;
+    }
+
+    /**
+     * Iterate over a snapshot of the published prefix, values pushed after the iterator is created are not included.
+     * @return iterator over indexes 0 to size() - 1
+     */
+    @Override
+    public Iterator<T> iterator() {
+        int end = size();
+        return new Iterator<>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < end;
+            }
+
+            @Override
+            public T next() {
+                if(index >= end)
+                    throw new NoSuchElementException();
+                return get(index++);
+            }
+        };
+    }
+
+    // private methods
+
+    private long reserve(int count) {
+        long index = (long) RESERVED.getAndAdd(this, (long) count);
+        if(index + count > MAX_SIZE)
+            throw new IllegalStateException("Reached array max capacity");
+        return index;
+    }
+
+    private void write(long index, Object value) {
+        int j = (int) index + FIRST_SIZE;
+        int k = segmentOf(j);
+        int offset = j - Integer.highestOneBit(j);
+        Object[] segment = (Object[]) SEGMENT.getAcquire(segments, k);
+        while(segment == null) { // the thread allocating it hasn't finished yet
+            Thread.yield();
+            segment = (Object[]) SEGMENT.getAcquire(segments, k);
+        }
+        if(offset == segment.length >> 1 && k + 1 < segments.length) // halfway through, allocate the next segment
+            SEGMENT.setRelease(segments, k + 1, new Object[segment.length << 1]);
+        SLOT.setRelease(segment, offset, value);
+    }
+
+    private boolean written(long index) {
+        int j = (int) index + FIRST_SIZE;
+        Object[] segment = (Object[]) SEGMENT.getAcquire(segments, segmentOf(j));
+        return segment != null && SLOT.getAcquire(segment, j - Integer.highestOneBit(j)) != null;
+    }
+
+    private static int segmentOf(int j) {
+        return 31 - Integer.numberOfLeadingZeros(j) - FIRST_SHIFT;
+    }
+}
+
+// padding and counter fields, see SpscQueueA for why these are split across a class hierarchy
+
+@SuppressWarnings("unused")
+abstract class ConcurrentAppendArrayPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class ConcurrentAppendArrayReservedField extends ConcurrentAppendArrayPad0 {
+
+    static final VarHandle RESERVED;
+
+    static {
+        try {
+            RESERVED = MethodHandles.lookup().findVarHandle(ConcurrentAppendArrayReservedField.class, "reserved", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    volatile long reserved; // next index to hand out, written by pushes
+}
+
+@SuppressWarnings("unused")
+abstract class ConcurrentAppendArrayPad1 extends ConcurrentAppendArrayReservedField {
+    long p16, p17, p18, p19, p20, p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31;
+}
+
+abstract class ConcurrentAppendArrayPublishedField extends ConcurrentAppendArrayPad1 {
+
+    static final VarHandle PUBLISHED;
+
+    static {
+        try {
+            PUBLISHED = MethodHandles.lookup().findVarHandle(ConcurrentAppendArrayPublishedField.class, "published", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    volatile long published; // every index below has been written, moved forward by readers
+}
+
+@SuppressWarnings("unused")
+abstract class ConcurrentAppendArrayPad2 extends ConcurrentAppendArrayPublishedField {
+    long p32, p33, p34, p35, p36, p37, p38, p39, p40, p41, p42, p43, p44, p45, p46, p47;
+}
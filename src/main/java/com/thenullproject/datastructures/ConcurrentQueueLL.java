@@ -0,0 +1,121 @@
+package com.thenullproject.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+
+/**
+ * An unbounded lock-free queue using a linked list with head and tail pointers (the Michael-Scott queue). The node
+ * layout is the same as {@link QueueLL}, but the list always starts with a dummy node so that producers only ever
+ * touch the tail and consumers only ever touch the head.
+ *
+ * - Enqueue links a new node after the last node with a CAS on its next pointer, then swings the tail pointer forward
+ *   with a second CAS. If a thread finds the tail lagging behind (next is not null), it helps by swinging it first.
+ * - Dequeue swings the head pointer to the first real node with a CAS, that node then becomes the new dummy and its
+ *   value is handed back.
+ *
+ * Nodes never escape the queue, only values are returned. Null values are not allowed, poll uses null to signal an
+ * empty queue.
+ */
+public class ConcurrentQueueLL<T> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(ConcurrentQueueLL.class, "head", ListNode.class);
+            TAIL = lookup.findVarHandle(ConcurrentQueueLL.class, "tail", ListNode.class);
+            NEXT = lookup.findVarHandle(ListNode.class, "next", ListNode.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile ListNode<T> head;
+    private volatile ListNode<T> tail;
+
+    private static class ListNode<T> {
+
+        T value;
+        volatile ListNode<T> next;
+
+        ListNode(T value) {
+            this.value = value;
+        }
+    }
+
+    public ConcurrentQueueLL() {
+        head = tail = new ListNode<>(null); // dummy
+    }
+
+    /**
+     * Add item to the queue. O(1) operation with TAIL pointer, lock-free.
+     * @param value value to add
+     */
+    public void enqueue(T value) {
+        if(value == null)
+            throw new NullPointerException("Null values are not supported");
+        ListNode<T> node = new ListNode<>(value);
+        while(true) {
+            ListNode<T> last = tail;
+            ListNode<T> next = last.next;
+            if(last != tail)
+                continue; // tail moved while reading next
+            if(next == null) {
+                if(NEXT.compareAndSet(last, null, node)) {
+                    TAIL.compareAndSet(this, last, node); // fine if this fails, someone helped
+                    return;
+                }
+            } else {
+                TAIL.compareAndSet(this, last, next); // help a lagging tail
+            }
+        }
+    }
+
+    /**
+     * Removes and returns item from the queue. O(1) operation with HEAD pointer, lock-free.
+     * @return the least-recently added item in the queue, or null if the queue is empty
+     */
+    public T poll() {
+        while(true) {
+            ListNode<T> first = head;
+            ListNode<T> last = tail;
+            ListNode<T> next = first.next;
+            if(first != head)
+                continue; // head moved while reading next
+            if(first == last) {
+                if(next == null)
+                    return null;
+                TAIL.compareAndSet(this, last, next); // tail is lagging, help before dequeuing
+            } else {
+                T value = next.value;
+                if(HEAD.compareAndSet(this, first, next)) {
+                    next.value = null; // next is the new dummy, don't keep the value alive
+                    return value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns item from the queue. O(1) operation with HEAD pointer, lock-free.
+     * @return the least-recently added item in the queue
+     */
+    public T dequeue() {
+        T value = poll();
+        if(value == null)
+            throw new NoSuchElementException("Cannot dequeue from empty queue");
+        return value;
+    }
+
+    /**
+     * Check if queue contains any items
+     * @return true if the queue is empty, false otherwise
+     */
+    public boolean empty() {
+        return head.next == null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.thenullproject.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An unbounded lock-free stack using a linked list (a Treiber stack) with an elimination array.
+ *
+ * The top pointer is swung with a CAS, push links a new node in front of the current top and pop replaces the top with
+ * its next node. Nodes are never reused, so a CAS can't be fooled by a node that was popped and pushed again (ABA).
+ *
+ * Under contention every thread is retrying a CAS on the same top pointer. A push and a pop that happen at the same
+ * time cancel each other out though, so when its CAS fails a thread backs off to the elimination array instead:
+ *  - a push offers its node in a random slot and waits a short while for a pop to take it. If none does it takes the
+ *    node back and retries on the stack.
+ *  - a pop looks at a random slot and takes any node offered there.
+ * A pair that meets in the array completes without touching the top pointer at all, as if the push had happened just
+ * before the pop.
+ *
+ * Nodes never escape the stack, only values are returned. Null values are not allowed, poll uses null to signal an
+ * empty stack.
+ */
+public class ConcurrentStackLL<T> {
+
+    private static final int ELIMINATION_SLOTS = Math.max(1, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+    private static final int ELIMINATION_SPINS = 64; // how long a push waits for a pop to take its offer
+
+    private static final VarHandle TOP;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(ListNode[].class);
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(ConcurrentStackLL.class, "top", ListNode.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile ListNode<T> top;
+    private final ListNode<?>[] eliminationSlots = new ListNode<?>[ELIMINATION_SLOTS];
+
+    private static class ListNode<T> {
+
+        final T value;
+        ListNode<T> next; // published by the CAS on top
+
+        ListNode(T value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Add item to the top of the stack. O(1) operation, lock-free.
+     * @param value value to add
+     */
+    public void push(T value) {
+        if(value == null)
+            throw new NullPointerException("Null values are not supported");
+        ListNode<T> node = new ListNode<>(value);
+        while(true) {
+            ListNode<T> current = top;
+            node.next = current;
+            if(TOP.compareAndSet(this, current, node) || eliminatePush(node))
+                return;
+        }
+    }
+
+    /**
+     * Removes and returns the item at the top of the stack. O(1) operation, lock-free.
+     * @return the most-recently added item in the stack, or null if the stack is empty
+     */
+    public T poll() {
+        while(true) {
+            ListNode<T> current = top;
+            if(current == null)
+                return null;
+            if(TOP.compareAndSet(this, current, current.next))
+                return current.value;
+            ListNode<T> node = eliminatePop();
+            if(node != null)
+                return node.value;
+        }
+    }
+
+    /**
+     * Removes and returns the item at the top of the stack. O(1) operation, lock-free.
+     * @return the most-recently added item in the stack
+     */
+    public T pop() {
+        T value = poll();
+        if(value == null)
+            throw new NoSuchElementException("Cannot pop from empty stack");
+        return value;
+    }
+
+    /**
+     * Check if stack contains any items
+     * @return true if the stack is empty, false otherwise
+     */
+    public boolean empty() {
+        return top == null;
+    }
+
+    // private methods
+
+    private boolean eliminatePush(ListNode<T> node) { // true if a pop took the node
+        int slot = ThreadLocalRandom.current().nextInt(ELIMINATION_SLOTS);
+        if(!SLOT.compareAndSet(eliminationSlots, slot, null, node))
+            return false; // slot is busy, go back to the stack
+        for(int i = 0; i < ELIMINATION_SPINS; i++) {
+            if(SLOT.getVolatile(eliminationSlots, slot) != node)
+                return true;
+            Thread.onSpinWait();
+        }
+        // no pop came along, take the offer back unless one takes it first
+        return !SLOT.compareAndSet(eliminationSlots, slot, node, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ListNode<T> eliminatePop() { // node offered by a push, or null
+        int slot = ThreadLocalRandom.current().nextInt(ELIMINATION_SLOTS);
+        ListNode<T> node = (ListNode<T>) SLOT.getVolatile(eliminationSlots, slot);
+        if(node != null && SLOT.compareAndSet(eliminationSlots, slot, node, null))
+            return node;
+        return null;
+    }
+}
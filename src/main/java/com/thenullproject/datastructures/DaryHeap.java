@@ -0,0 +1,307 @@
+package com.thenullproject.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A min-heap priority queue with long keys, where every node has arity (2, 4 or 8) children instead of two.
+ *
+ * Keys are kept unboxed in a long[] in heap order, with a parallel int[] of handles. Sifting only moves those two
+ * primitive arrays, the values stay where they are, indexed by handle. The children of node i are at arity * i + 1 to
+ * arity * i + arity, and since arity is a power of two these are computed with shifts. A wider node makes the heap
+ * shallower, so inserts and decreaseKey (which sift up) do fewer steps, while removals (which sift down) compare more
+ * children per level. The children of a node sit next to each other, so with arity 4 or 8 they are read from one or
+ * two cache lines, which usually makes 4 the fastest overall.
+ *
+ * insert returns a handle, which stays valid until its value is removed, and is used to look up, decrease the key of
+ * or remove that value in O(log n). Handles are reused after their value is removed. A handle's position in the heap
+ * is kept in a position array indexed by handle, and free handles are kept in the unused part of the handle array
+ * after the last node, so no operation allocates once the arrays are large enough.
+ *
+ * The arrays grow in the same way as {@link Array}: capacity starts at a power of two and doubles when full.
+ */
+public class DaryHeap<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int DEFAULT_ARITY = 4;
+
+    private final int shift; // log2 of arity
+    private long[] keys; // keys in heap order
+    private int[] handles; // handles in heap order, then free handles from size to allocated
+    private int[] positions; // heap position of each handle, -1 if the handle is free
+    private Object[] values; // values by handle
+    private int capacity;
+    private int size;
+    private int allocated; // number of handles handed out so far
+
+    public DaryHeap() {
+        this(DEFAULT_ARITY, INITIAL_CAPACITY);
+    }
+
+    public DaryHeap(int arity) {
+        this(arity, INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param arity number of children per node, 2, 4 or 8
+     * @param initialCapacity number of values the heap can hold before growing, rounded up like {@link Array}
+     */
+    public DaryHeap(int arity, int initialCapacity) {
+        if(arity != 2 && arity != 4 && arity != 8)
+            throw new IllegalArgumentException("Arity must be 2, 4 or 8");
+        if(initialCapacity <= 0)
+            throw new IllegalArgumentException("Initial size cannot be less than or equal to zero.");
+        else if(initialCapacity <= INITIAL_CAPACITY)
+            capacity = INITIAL_CAPACITY;
+        else
+            capacity = Integer.highestOneBit(initialCapacity) << 1;
+        shift = Integer.numberOfTrailingZeros(arity);
+        keys = new long[capacity];
+        handles = new int[capacity];
+        positions = new int[capacity];
+        values = new Object[capacity];
+        size = allocated = 0;
+    }
+
+    /**
+     * Build a heap from keys and values in O(n), by sifting down every node that has children, last first. The value
+     * values[i] gets handle i.
+     * @param arity number of children per node, 2, 4 or 8
+     * @param keys keys of the values
+     * @param values values, the same length as keys
+     * @return new heap holding every value
+     */
+    public static <T> DaryHeap<T> heapify(int arity, long[] keys, T[] values) {
+        if(keys.length != values.length)
+            throw new IllegalArgumentException("Keys and values must be the same length");
+        int count = keys.length;
+        DaryHeap<T> heap = new DaryHeap<>(arity, Math.max(count, 1));
+        System.arraycopy(keys, 0, heap.keys, 0, count);
+        System.arraycopy(values, 0, heap.values, 0, count);
+        for(int i = 0; i < count; i++)
+            heap.handles[i] = heap.positions[i] = i;
+        heap.size = heap.allocated = count;
+        for(int i = count > 1 ? heap.parentOf(count - 1) : -1; i >= 0; i--)
+            heap.siftDown(i, heap.keys[i], heap.handles[i]);
+        return heap;
+    }
+
+    /**
+     * Add value to the heap. O(log n) operation.
+     * @param key priority of the value, smaller keys come out first
+     * @param value value to add
+     * @return handle of the value
+     */
+    public int insert(long key, T value) {
+        if(size == capacity)
+            grow(size + 1);
+        int handle = size < allocated ? handles[size] : allocated++; // reuse a free handle if there is one
+        values[handle] = value;
+        size++;
+        siftUp(size - 1, key, handle);
+        return handle;
+    }
+
+    /**
+     * @return the value with the smallest key
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        checkNotEmpty();
+        return (T) values[handles[0]];
+    }
+
+    /**
+     * @return the smallest key
+     */
+    public long peekKey() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Removes and returns the value with the smallest key. O(log n) operation.
+     * @return the value with the smallest key
+     */
+    public T pop() {
+        checkNotEmpty();
+        return removeAt(0);
+    }
+
+    /**
+     * Lower the key of a value, moving it towards the top of the heap. O(log n) operation.
+     * @param handle handle returned by insert
+     * @param key new key, not larger than the current key
+     */
+    public void decreaseKey(int handle, long key) {
+        int position = positionOf(handle);
+        if(key > keys[position])
+            throw new IllegalArgumentException("New key cannot be larger than the current key");
+        siftUp(position, key, handle);
+    }
+
+    /**
+     * Removes the value with the given handle. O(log n) operation.
+     * @param handle handle returned by insert
+     * @return the removed value
+     */
+    public T remove(int handle) {
+        return removeAt(positionOf(handle));
+    }
+
+    /**
+     * @param handle handle returned by insert
+     * @return true if the handle's value is still in the heap
+     */
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < allocated && positions[handle] >= 0;
+    }
+
+    /**
+     * @param handle handle returned by insert
+     * @return key of the handle's value
+     */
+    public long key(int handle) {
+        return keys[positionOf(handle)];
+    }
+
+    /**
+     * Removes up to maxElements values in key order and passes them to the consumer.
+     * @param consumer receives each value
+     * @param maxElements maximum number of values to remove
+     * @return number of values removed
+     */
+    public int drainTo(Consumer<? super T> consumer, int maxElements) {
+        int count = Math.min(size, Math.max(maxElements, 0));
+        for(int i = 0; i < count; i++)
+            consumer.accept(removeAt(0));
+        return count;
+    }
+
+    /**
+     * Removes as many values as fit into dstKeys and dstValues in key order, copying each key and value to the same
+     * index of the two arrays.
+     * @param dstKeys array to copy the keys into, starting at index 0
+     * @param dstValues array to copy the values into, starting at index 0
+     * @return number of values removed
+     */
+    public int drainTo(long[] dstKeys, Object[] dstValues) {
+        int count = Math.min(size, Math.min(dstKeys.length, dstValues.length));
+        for(int i = 0; i < count; i++) {
+            dstKeys[i] = keys[0];
+            dstValues[i] = removeAt(0);
+        }
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean empty() {
+        return size == 0;
+    }
+
+    public int arity() {
+        return 1 << shift;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // private methods
+
+    @SuppressWarnings("unchecked")
+    private T removeAt(int position) {
+        int handle = handles[position];
+        T value = (T) values[handle];
+        values[handle] = null;
+        positions[handle] = -1;
+        size--;
+        if(position < size) { // fill the hole with the last node, which may need to move either way
+            long lastKey = keys[size];
+            int lastHandle = handles[size];
+            if(position > 0 && lastKey < keys[parentOf(position)])
+                siftUp(position, lastKey, lastHandle);
+            else
+                siftDown(position, lastKey, lastHandle);
+        }
+        handles[size] = handle; // free, reused by the next insert
+        return value;
+    }
+
+    private void siftUp(int position, long key, int handle) {
+        while(position > 0) {
+            int parent = parentOf(position);
+            if(keys[parent] <= key)
+                break;
+            move(parent, position);
+            position = parent;
+        }
+        place(position, key, handle);
+    }
+
+    private void siftDown(int position, long key, int handle) {
+        while(true) {
+            int first = (position << shift) + 1;
+            if(first >= size || first < 0) // no children (or the index overflowed, so none either)
+                break;
+            int last = Math.min(first + (1 << shift), size);
+            int smallest = first;
+            for(int child = first + 1; child < last; child++) {
+                if(keys[child] < keys[smallest])
+                    smallest = child;
+            }
+            if(keys[smallest] >= key)
+                break;
+            move(smallest, position);
+            position = smallest;
+        }
+        place(position, key, handle);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        handles[to] = handles[from];
+        positions[handles[to]] = to;
+    }
+
+    private void place(int position, long key, int handle) {
+        keys[position] = key;
+        handles[position] = handle;
+        positions[handle] = position;
+    }
+
+    private int parentOf(int position) {
+        return (position - 1) >>> shift;
+    }
+
+    private int positionOf(int handle) {
+        if(!contains(handle))
+            throw new IllegalArgumentException("Handle is not in the heap");
+        return positions[handle];
+    }
+
+    private void checkNotEmpty() {
+        if(size == 0)
+            throw new NoSuchElementException("Heap is empty");
+    }
+
+    private void grow(int minCapacity) {
+        if(minCapacity < 0) // overflowed
+            throw new OutOfMemoryError("Required array size too large");
+        int newCapacity = capacity;
+        while(newCapacity < minCapacity && newCapacity > 0)
+            newCapacity = newCapacity << 1;
+        if(newCapacity <= 0) // past the largest power of two
+            newCapacity = Integer.MAX_VALUE - 8;
+        // allocate new arrays
+        keys = Arrays.copyOf(keys, newCapacity);
+        handles = Arrays.copyOf(handles, newCapacity);
+        positions = Arrays.copyOf(positions, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        capacity = newCapacity;
+    }
+}
@@ -0,0 +1,151 @@
+package com.thenullproject.datastructures;
+
+/**
+ * A double-ended queue using a growable circular array. Where {@link QueueA} is fixed at 8 slots and throws when full,
+ * this implementation doubles its array instead, so items can be added and removed at both ends in amortised O(1).
+ *
+ * The capacity is always a power of two, so wrapping an index around the end of the array is a mask (i & (capacity - 1))
+ * rather than a comparison. The head index points at the first item and the tail is head + size, which means the array
+ * is full when size equals the capacity, and there is no need for a buffer element.
+ *
+ * When growing, the items from head to the end of the array and from the start of the array to the tail are copied in
+ * two bulk copies, so the new array starts at index 0 again. Removed slots are cleared so the array doesn't keep
+ * references to items that have left the queue.
+ *
+ * Used with offerLast/pollFirst it is a FIFO queue, with offerLast/pollLast it is a LIFO stack. Null values are not
+ * allowed, the poll and peek methods use null to signal an empty deque.
+ */
+public class DequeA<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] arr;
+    private int mask;
+    private int head; // index of first item
+    private int size;
+
+    public DequeA() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial capacity, rounded up to the next power of two
+     */
+    public DequeA(int capacity) {
+        if(capacity <= 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        int length = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        arr = new Object[length];
+        mask = length - 1;
+        head = size = 0;
+    }
+
+    /**
+     * Add item to the front of the deque. Amortised O(1) operation.
+     * @param value value to add
+     */
+    public void offerFirst(T value) {
+        checkNotNull(value);
+        if(size == arr.length)
+            grow();
+        head = (head - 1) & mask;
+        arr[head] = value;
+        size++;
+    }
+
+    /**
+     * Add item to the back of the deque. Amortised O(1) operation.
+     * @param value value to add
+     */
+    public void offerLast(T value) {
+        checkNotNull(value);
+        if(size == arr.length)
+            grow();
+        arr[(head + size) & mask] = value;
+        size++;
+    }
+
+    /**
+     * Removes and returns the item at the front of the deque. O(1) operation.
+     * @return the first item, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T pollFirst() {
+        if(size == 0)
+            return null;
+        T value = (T) arr[head];
+        arr[head] = null;
+        head = (head + 1) & mask;
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes and returns the item at the back of the deque. O(1) operation.
+     * @return the last item, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T pollLast() {
+        if(size == 0)
+            return null;
+        int tail = (head + size - 1) & mask;
+        T value = (T) arr[tail];
+        arr[tail] = null;
+        size--;
+        return value;
+    }
+
+    /**
+     * Returns the item at the front of the deque without removing it. O(1) operation.
+     * @return the first item, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return (T) arr[head]; // null when empty, removed slots are cleared
+    }
+
+    /**
+     * Returns the item at the back of the deque without removing it. O(1) operation.
+     * @return the last item, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T peekLast() {
+        return (T) arr[(head + size - 1) & mask];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return arr.length;
+    }
+
+    /**
+     * Check if deque contains any items
+     * @return true if the deque is empty, false otherwise
+     */
+    public boolean empty() {
+        return size == 0;
+    }
+
+    // private methods
+
+    private void grow() {
+        if(arr.length == MAX_CAPACITY)
+            throw new IllegalStateException("Reached deque max capacity");
+        Object[] temp = new Object[arr.length << 1];
+        int firstRun = arr.length - head; // head to end of array
+        System.arraycopy(arr, head, temp, 0, firstRun);
+        System.arraycopy(arr, 0, temp, firstRun, head); // start of array to tail
+        arr = temp;
+        mask = temp.length - 1;
+        head = 0;
+    }
+
+    private static void checkNotNull(Object value) {
+        if(value == null)
+            throw new NullPointerException("Null values are not supported");
+    }
+}
@@ -0,0 +1,212 @@
+package com.thenullproject.datastructures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A circular doubly linked list with a sentinel node, as described in the {@link LinkedList} documentation. The list
+ * keeps these invariants:
+ *
+ * 1). There will always be a sentinel node, even for empty lists, so a list's reference to its sentinel node will never be null.
+ * 2). Because it is circularly linked, no node in the list will have a null value for it's next or previous pointer (may point to sentinel).
+ * 3). For any node a, if a.next equals b, then b.prev must equal a.
+ * 4). For any node c, if c.prev equals b, then b.next must equal c.
+ * 5). The size value is always correct (doesn't include sentinel).
+ *
+ * Every node knows its previous node, so popBack is O(1) rather than a walk to the node before the tail, and finding
+ * the nth node starts from whichever end of the list is closer.
+ *
+ * A {@link ListCursor} keeps a position in the list, so repeated inserts and removals around the same place are O(1)
+ * instead of walking from the front on every call. Nodes still never leave the list, the cursor only exposes values.
+ */
+public class DoublyLinkedList<T> {
+
+    private final ListNode<T> sentinel;
+    private int size;
+
+    private static class ListNode<T> {
+
+        T value;
+        ListNode<T> prev;
+        ListNode<T> next;
+
+        ListNode(T value, ListNode<T> prev, ListNode<T> next) {
+            this.value = value;
+            this.prev = prev;
+            this.next = next;
+        }
+    }
+
+    public DoublyLinkedList() {
+        sentinel = new ListNode<>(null, null, null);
+        sentinel.prev = sentinel.next = sentinel; // empty list points to itself
+        size = 0;
+    }
+
+    public void pushFront(T value) { // O(1)
+        linkAfter(sentinel, value);
+    }
+
+    public T popFront() { // O(1)
+        if(size == 0)
+            throw new NoSuchElementException();
+        return unlink(sentinel.next);
+    }
+
+    public void pushBack(T value) { // O(1)
+        linkAfter(sentinel.prev, value);
+    }
+
+    public T popBack() { // O(1)
+        if(size == 0)
+            throw new NoSuchElementException();
+        return unlink(sentinel.prev);
+    }
+
+    public void addAfter(int index, T value) { // O(n)
+        linkAfter(getNthNode(index), value);
+    }
+
+    public void addBefore(int index, T value) { // O(n)
+        if(index == size) // before the sentinel is the back of the list
+            pushBack(value);
+        else
+            linkAfter(getNthNode(index).prev, value);
+    }
+
+    public T valueAt(int index) { // O(n)
+        return getNthNode(index).value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Create a cursor positioned at the given index. A cursor at index size is positioned at the end of the list (the
+     * sentinel), where it holds no value.
+     * @param index index from 0 to size (inclusive)
+     * @return cursor at index
+     */
+    public ListCursor cursor(int index) {
+        return new ListCursor(index == size ? sentinel : getNthNode(index));
+    }
+
+    /**
+     * A position in the list that can read, insert and remove values in O(1). Moving past either end of the list stops
+     * at the end position, moving again wraps around to the other end.
+     *
+     * A cursor is invalidated when its value is removed other than through the cursor itself, after which it throws
+     * an IllegalStateException.
+     */
+    public class ListCursor {
+
+        private ListNode<T> node;
+
+        private ListCursor(ListNode<T> node) {
+            this.node = node;
+        }
+
+        /**
+         * @return true if the cursor is on a value, false if it is at the end of the list
+         */
+        public boolean hasValue() {
+            checkValid();
+            return node != sentinel;
+        }
+
+        public T value() {
+            checkHasValue();
+            return node.value;
+        }
+
+        public void set(T value) {
+            checkHasValue();
+            node.value = value;
+        }
+
+        public void moveNext() {
+            checkValid();
+            node = node.next;
+        }
+
+        public void movePrevious() {
+            checkValid();
+            node = node.prev;
+        }
+
+        /**
+         * Insert value before the cursor, at the end of the list this is the back of the list. O(1) operation.
+         * @param value value to insert
+         */
+        public void insertBefore(T value) {
+            checkValid();
+            linkAfter(node.prev, value);
+        }
+
+        /**
+         * Insert value after the cursor, at the end of the list this is the front of the list. O(1) operation.
+         * @param value value to insert
+         */
+        public void insertAfter(T value) {
+            checkValid();
+            linkAfter(node, value);
+        }
+
+        /**
+         * Remove the value at the cursor and move to the next one. O(1) operation.
+         * @return removed value
+         */
+        public T remove() {
+            checkHasValue();
+            ListNode<T> next = node.next;
+            T value = unlink(node);
+            node = next;
+            return value;
+        }
+
+        private void checkValid() {
+            if(node.next == null)
+                throw new IllegalStateException("Cursor's value was removed from the list");
+        }
+
+        private void checkHasValue() {
+            if(!hasValue())
+                throw new NoSuchElementException("Cursor is at the end of the list");
+        }
+    }
+
+    // private methods
+
+    private ListNode<T> getNthNode(int index) { // walks from whichever end is closer
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        ListNode<T> node;
+        if(index < size >> 1) {
+            node = sentinel.next;
+            for(int i = 0; i < index; i++)
+                node = node.next;
+        } else {
+            node = sentinel.prev;
+            for(int i = size - 1; i > index; i--)
+                node = node.prev;
+        }
+        return node;
+    }
+
+    private void linkAfter(ListNode<T> node, T value) {
+        ListNode<T> temp = new ListNode<>(value, node, node.next);
+        node.next.prev = temp;
+        node.next = temp;
+        size++;
+    }
+
+    private T unlink(ListNode<T> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null; // marks stale cursors, and doesn't keep neighbours alive
+        size--;
+        T value = node.value;
+        node.value = null;
+        return value;
+    }
+}
@@ -0,0 +1,253 @@
+package com.thenullproject.datastructures;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An indexable skip list, a list with the index based API of {@link LinkedList} where valueAt, addBefore, addAfter and
+ * remove are expected O(log n) instead of O(n).
+ *
+ * Every node is part of the bottom level linked list, and also of a random number of express levels above it (each
+ * level holds about half the nodes of the level below). Every forward pointer stores its span, the number of bottom
+ * level steps it skips. To find the value at an index, start at the top level of the head node and follow pointers
+ * while their span doesn't overshoot, dropping a level when it would. Inserting or removing a node only has to fix
+ * the spans of the pointers that pass over it, one per level.
+ *
+ * Positions are worked out as ranks, the head node has rank 0 and the value at index i has rank i + 1. Two extra bits
+ * of bookkeeping keep pushFront and pushBack expected O(1), touching only the levels of the new node:
+ *  - The last node of every level is remembered, so pushBack links after them directly instead of searching.
+ *  - Pushing or popping at the front shifts the rank of every node by one. Rather than updating the spans of the head's
+ *    pointers and the remembered ranks of the last nodes, those are stored relative to frontShift, and a front push or
+ *    pop only changes frontShift.
+ *
+ * Pointers to the end of a level (null) never need a span, a search never follows them.
+ */
+public class IndexableSkipList<T> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final ListNode<T> head;
+    private final ListNode<?>[] last; // last node of each level, head if the level is empty
+    private final int[] lastRank; // rank of each last node minus frontShift
+    private int frontShift;
+    private int levels; // number of levels in use
+    private int size;
+
+    private static class ListNode<T> {
+
+        T value;
+        final ListNode<T>[] next;
+        final int[] span; // for the head node, rank of the next node minus frontShift
+
+        @SuppressWarnings("unchecked")
+        ListNode(T value, int height) {
+            this.value = value;
+            this.next = (ListNode<T>[]) new ListNode<?>[height];
+            this.span = new int[height];
+        }
+
+        int height() {
+            return next.length;
+        }
+    }
+
+    public IndexableSkipList() {
+        head = new ListNode<>(null, MAX_LEVEL);
+        last = new ListNode<?>[MAX_LEVEL];
+        lastRank = new int[MAX_LEVEL];
+        for(int l = 0; l < MAX_LEVEL; l++)
+            last[l] = head;
+        frontShift = levels = size = 0;
+    }
+
+    public void pushFront(T value) { // expected O(1)
+        ListNode<T> node = new ListNode<>(value, randomHeight());
+        frontShift++; // every existing node moves back one rank
+        for(int l = 0; l < node.height(); l++) {
+            node.next[l] = head.next[l];
+            if(node.next[l] != null)
+                node.span[l] = spanOf(head, l) - 1;
+            head.next[l] = node;
+            setSpan(head, l, 1);
+            if(last[l] == head) {
+                last[l] = node;
+                lastRank[l] = 1 - frontShift;
+            }
+        }
+        levels = Math.max(levels, node.height());
+        size++;
+    }
+
+    public T popFront() { // expected O(1)
+        if(size == 0)
+            throw new NoSuchElementException();
+        ListNode<T> node = head.next[0];
+        frontShift--; // every remaining node moves forward one rank
+        for(int l = 0; l < node.height(); l++) {
+            head.next[l] = node.next[l];
+            if(node.next[l] != null)
+                setSpan(head, l, node.span[l]);
+            if(last[l] == node)
+                last[l] = head;
+        }
+        size--;
+        trimLevels();
+        return node.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void pushBack(T value) { // expected O(1)
+        ListNode<T> node = new ListNode<>(value, randomHeight());
+        int rank = size + 1;
+        for(int l = 0; l < node.height(); l++) {
+            ListNode<T> previous = (ListNode<T>) last[l];
+            previous.next[l] = node;
+            setSpan(previous, l, rank - lastRankOf(l));
+            last[l] = node;
+            lastRank[l] = rank - frontShift;
+        }
+        levels = Math.max(levels, node.height());
+        size++;
+    }
+
+    public T popBack() { // expected O(log n)
+        if(size == 0)
+            throw new NoSuchElementException();
+        return removeRank(size);
+    }
+
+    public void addAfter(int index, T value) { // expected O(log n)
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        insertRank(index + 2, value);
+    }
+
+    public void addBefore(int index, T value) { // expected O(log n)
+        if(index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+        insertRank(index + 1, value);
+    }
+
+    public T remove(int index) { // expected O(log n)
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        return removeRank(index + 1);
+    }
+
+    public T valueAt(int index) { // expected O(log n)
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        int target = index + 1;
+        ListNode<T> node = head;
+        int rank = 0;
+        for(int l = levels - 1; l >= 0; l--) {
+            while(node.next[l] != null && rank + spanOf(node, l) <= target) {
+                rank += spanOf(node, l);
+                node = node.next[l];
+            }
+            if(rank == target)
+                break;
+        }
+        return node.value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // private methods
+
+    private void insertRank(int rank, T value) {
+        if(rank == 1) {
+            pushFront(value);
+            return;
+        } else if(rank == size + 1) {
+            pushBack(value);
+            return;
+        }
+        ListNode<T> node = new ListNode<>(value, randomHeight());
+        levels = Math.max(levels, node.height());
+
+        // walk down the levels, splicing the node in where it belongs on each one
+        ListNode<T> previous = head;
+        int previousRank = 0;
+        for(int l = levels - 1; l >= 0; l--) {
+            while(previous.next[l] != null && previousRank + spanOf(previous, l) < rank) {
+                previousRank += spanOf(previous, l);
+                previous = previous.next[l];
+            }
+            if(l < node.height()) {
+                node.next[l] = previous.next[l];
+                if(node.next[l] != null)
+                    node.span[l] = previousRank + spanOf(previous, l) + 1 - rank;
+                previous.next[l] = node;
+                setSpan(previous, l, rank - previousRank);
+                if(last[l] == previous) {
+                    last[l] = node;
+                    lastRank[l] = rank - frontShift;
+                } else {
+                    lastRank[l]++; // last node is after the new one
+                }
+            } else if(previous.next[l] != null) {
+                setSpan(previous, l, spanOf(previous, l) + 1); // pointer now passes over one more node
+                lastRank[l]++;
+            }
+        }
+        size++;
+    }
+
+    private T removeRank(int rank) {
+        if(rank == 1)
+            return popFront();
+
+        ListNode<T> previous = head;
+        int previousRank = 0;
+        ListNode<T> node = null;
+        for(int l = levels - 1; l >= 0; l--) {
+            while(previous.next[l] != null && previousRank + spanOf(previous, l) < rank) {
+                previousRank += spanOf(previous, l);
+                previous = previous.next[l];
+            }
+            ListNode<T> next = previous.next[l];
+            if(next != null && previousRank + spanOf(previous, l) == rank) { // next is the node being removed
+                node = next;
+                previous.next[l] = node.next[l];
+                if(node.next[l] != null)
+                    setSpan(previous, l, spanOf(previous, l) + node.span[l] - 1);
+                if(last[l] == node) {
+                    last[l] = previous;
+                    lastRank[l] = previousRank - frontShift;
+                } else {
+                    lastRank[l]--;
+                }
+            } else if(next != null) {
+                setSpan(previous, l, spanOf(previous, l) - 1);
+                lastRank[l]--;
+            }
+        }
+        size--;
+        trimLevels();
+        return node.value;
+    }
+
+    private int spanOf(ListNode<T> node, int level) {
+        return node == head ? node.span[level] + frontShift : node.span[level];
+    }
+
+    private void setSpan(ListNode<T> node, int level, int span) {
+        node.span[level] = node == head ? span - frontShift : span;
+    }
+
+    private int lastRankOf(int level) {
+        return last[level] == head ? 0 : lastRank[level] + frontShift;
+    }
+
+    private void trimLevels() {
+        while(levels > 0 && head.next[levels - 1] == null)
+            levels--;
+    }
+
+    private static int randomHeight() { // 1 with probability 1/2, 2 with 1/4...
+        return Math.min(MAX_LEVEL, Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1))) + 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.thenullproject.datastructures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A stack of ints using a dynamic {@link IntArray}, the same as {@link StackA} but without boxing. Items are stored
+ * directly in an int[], so pushing and popping allocate nothing once the array is large enough.
+ */
+public class IntStackA {
+
+    private final IntArray arr;
+
+    public IntStackA() {
+        arr = new IntArray();
+    }
+
+    /**
+     * @param initialCapacity number of items the stack can hold before it first grows
+     */
+    public IntStackA(int initialCapacity) {
+        arr = new IntArray(initialCapacity);
+    }
+
+    /**
+     * Add item to the top of the stack. Amortised O(1) operation.
+     * @param value value to add
+     */
+    public void push(int value) {
+        arr.push(value);
+    }
+
+    /**
+     * Removes and returns the item at the top of the stack. O(1) operation.
+     * @return the most-recently added item in the stack
+     */
+    public int pop() {
+        if(arr.size() == 0)
+            throw new NoSuchElementException("Cannot pop from empty stack");
+        return arr.pop();
+    }
+
+    /**
+     * Returns the item at the top of the stack without removing it. O(1) operation.
+     * @return the most-recently added item in the stack
+     */
+    public int top() {
+        if(arr.size() == 0)
+            throw new NoSuchElementException("Cannot read top of empty stack");
+        return arr.get(arr.size() - 1);
+    }
+
+    public int size() {
+        return arr.size();
+    }
+
+    /**
+     * Check if stack contains any items
+     * @return true if the stack is empty, false otherwise
+     */
+    public boolean empty() {
+        return arr.size() == 0;
+    }
+}
@@ -0,0 +1,319 @@
+package com.thenullproject.datastructures;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A persistent FIFO queue of byte records, stored in memory-mapped files so it survives process restarts.
+ *
+ * It works like {@link QueueA}'s read and write indexes, but the indexes are byte positions that only ever increase
+ * and the array is a sequence of segment files on disk, each segmentSize bytes long. The write position appends
+ * records to the end of the newest segment, the read position follows it. Once the saved read position has moved
+ * past a segment the file is deleted, so the journal only takes up disk space for records that haven't been read yet.
+ * Deleting only after the position is saved means a crash, or a drainTo consumer that throws, never leaves the header
+ * pointing into a deleted segment, the unsaved records are read again instead.
+ *
+ * Records are stored as a 4 byte length followed by the bytes, padded to a multiple of 4. A record never spans two
+ * segments, when it doesn't fit in the rest of a segment a padding marker is written instead and the record goes at the
+ * start of the next one.
+ *
+ * Both positions are kept in a small mapped header file and updated after every append and read. Opening a journal
+ * only maps the header and the two current segments, there is nothing to replay. Writes land in the page cache, so
+ * they survive the process exiting, {@link #force()} flushes them to the storage device as well.
+ *
+ * Reads are zero-copy, poll and drainTo hand out read-only slices of the mapped segment. A slice stays readable after
+ * its segment is deleted, until it is garbage collected.
+ *
+ * A journal must only be used by one thread, and opened by one JournalQueue at a time.
+ */
+public class JournalQueue implements AutoCloseable {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 26; // 64MB
+    private static final int MIN_SEGMENT_SIZE = 1 << 6;
+    private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    private static final String HEADER_FILE = "journal.header";
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String SEGMENT_GLOB = "[0-9]".repeat(19) + SEGMENT_SUFFIX; // names made by segmentName
+    private static final int MAGIC = 0x4A524E4C; // "JRNL"
+    private static final int HEADER_SIZE = 32;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SEGMENT_SIZE_OFFSET = 8;
+    private static final int READ_POSITION_OFFSET = 16;
+    private static final int WRITE_POSITION_OFFSET = 24;
+
+    private static final int LENGTH_SIZE = 4;
+    private static final int PADDING = -1; // length of a padding record, the rest of the segment is unused
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int shift;
+    private MappedByteBuffer header;
+    private long readPosition;
+    private long writePosition;
+    private MappedByteBuffer readSegment;
+    private long readSegmentIndex = -1;
+    private long oldestSegment; // oldest segment file the saved read position may still point into
+    private MappedByteBuffer writeSegment;
+    private long writeSegmentIndex = -1;
+
+    /**
+     * Open the journal in directory, creating it if it doesn't exist.
+     * @param directory directory holding the header and segment files
+     */
+    public JournalQueue(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open the journal in directory, creating it if it doesn't exist.
+     * @param directory directory holding the header and segment files
+     * @param segmentSize size of a segment file for a new journal, rounded up to the next power of two. An existing
+     *                    journal keeps the segment size it was created with
+     */
+    public JournalQueue(Path directory, int segmentSize) {
+        if(segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE)
+            throw new IllegalArgumentException("Segment size must be between " + MIN_SEGMENT_SIZE + " and " + MAX_SEGMENT_SIZE);
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            Path headerPath = directory.resolve(HEADER_FILE);
+            boolean exists = Files.exists(headerPath);
+            header = map(headerPath, HEADER_SIZE);
+            if(exists) {
+                if(header.getInt(MAGIC_OFFSET) != MAGIC)
+                    throw new IllegalStateException("Not a journal header: " + headerPath);
+                segmentSize = header.getInt(SEGMENT_SIZE_OFFSET);
+                readPosition = header.getLong(READ_POSITION_OFFSET);
+                writePosition = header.getLong(WRITE_POSITION_OFFSET);
+            } else {
+                segmentSize = 1 << (32 - Integer.numberOfLeadingZeros(segmentSize - 1));
+                header.putInt(SEGMENT_SIZE_OFFSET, segmentSize);
+                header.putLong(READ_POSITION_OFFSET, 0);
+                header.putLong(WRITE_POSITION_OFFSET, 0);
+                header.putInt(MAGIC_OFFSET, MAGIC); // last, a header without it is treated as corrupt
+            }
+            this.segmentSize = segmentSize;
+            this.shift = Integer.numberOfTrailingZeros(segmentSize);
+            oldestSegment = segmentOf(readPosition);
+            deleteSegmentsBefore(oldestSegment); // left behind if the process stopped mid-roll
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Append the remaining bytes of src as one record, src's position is moved to its limit.
+     * @param src bytes to append, at most segmentSize - 4
+     */
+    public void append(ByteBuffer src) {
+        int length = src.remaining();
+        int offset = claim(length);
+        writeSegment.put(offset + LENGTH_SIZE, src, src.position(), length);
+        publish(offset, length);
+        src.position(src.limit());
+    }
+
+    /**
+     * Append length bytes of src, starting at index from, as one record.
+     * @param src bytes to append
+     * @param from index of the first byte in src
+     * @param length number of bytes, at most segmentSize - 4
+     */
+    public void append(byte[] src, int from, int length) {
+        Objects.checkFromIndexSize(from, length, src.length); // before claim, which can pad out the segment
+        int offset = claim(length);
+        writeSegment.put(offset + LENGTH_SIZE, src, from, length);
+        publish(offset, length);
+    }
+
+    /**
+     * Removes and returns the oldest record. O(1) operation, the record is not copied.
+     * @return read-only view of the record's bytes, or null if the journal is empty
+     */
+    public ByteBuffer poll() {
+        ByteBuffer record = next();
+        if(record != null)
+            saveReadPosition();
+        return record;
+    }
+
+    /**
+     * Removes up to maxRecords records and passes them to the consumer, oldest first. The read position in the header
+     * is updated once for the whole batch.
+     * @param consumer receives a read-only view of each record's bytes
+     * @param maxRecords maximum number of records to remove
+     * @return number of records removed
+     */
+    public int drainTo(Consumer<ByteBuffer> consumer, int maxRecords) {
+        int count = 0;
+        ByteBuffer record;
+        while(count < maxRecords && (record = next()) != null) {
+            count++;
+            consumer.accept(record);
+        }
+        if(count > 0)
+            saveReadPosition();
+        return count;
+    }
+
+    /**
+     * Check if journal contains any records
+     * @return true if every record has been read, false otherwise
+     */
+    public boolean empty() {
+        checkOpen();
+        return readPosition == writePosition;
+    }
+
+    public int segmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Flush the header and the current write segment to the storage device.
+     */
+    public void force() {
+        checkOpen();
+        if(writeSegment != null)
+            writeSegment.force();
+        header.force();
+    }
+
+    /**
+     * Release the journal's mappings. Records already written stay on disk and are available to the next
+     * JournalQueue opened on the same directory.
+     */
+    @Override
+    public void close() {
+        header = readSegment = writeSegment = null; // unmapped once collected
+    }
+
+    // private methods
+
+    private int claim(int length) { // offset to write a record of length bytes at
+        checkOpen();
+        if(length < 0 || length > segmentSize - LENGTH_SIZE)
+            throw new IllegalArgumentException("Record length must be between 0 and " + (segmentSize - LENGTH_SIZE));
+        int offset = offsetOf(writePosition);
+        if(offset + recordSize(length) > segmentSize) { // doesn't fit, pad out the segment and move to the next
+            mapWriteSegment().putInt(offset, PADDING);
+            writePosition += segmentSize - offset;
+            offset = 0;
+        }
+        mapWriteSegment();
+        return offset;
+    }
+
+    private void publish(int offset, int length) {
+        writeSegment.putInt(offset, length);
+        writePosition += recordSize(length);
+        header.putLong(WRITE_POSITION_OFFSET, writePosition);
+    }
+
+    private ByteBuffer next() { // next record without saving the read position, or null
+        checkOpen();
+        while(readPosition != writePosition) {
+            int offset = offsetOf(readPosition);
+            int length = mapReadSegment().getInt(offset);
+            if(length == PADDING) {
+                readPosition += segmentSize - offset;
+                continue;
+            }
+            readPosition += recordSize(length);
+            return readSegment.slice(offset + LENGTH_SIZE, length).asReadOnlyBuffer();
+        }
+        return null;
+    }
+
+    private MappedByteBuffer mapWriteSegment() {
+        long index = segmentOf(writePosition);
+        if(index != writeSegmentIndex) {
+            writeSegment = index == readSegmentIndex ? readSegment : mapSegment(index);
+            writeSegmentIndex = index;
+        }
+        return writeSegment;
+    }
+
+    private MappedByteBuffer mapReadSegment() {
+        long index = segmentOf(readPosition);
+        if(index != readSegmentIndex) { // the previous segment is deleted by saveReadPosition
+            readSegment = index == writeSegmentIndex ? writeSegment : mapSegment(index);
+            readSegmentIndex = index;
+        }
+        return readSegment;
+    }
+
+    private void saveReadPosition() { // then delete the segments the saved position has moved past
+        header.putLong(READ_POSITION_OFFSET, readPosition);
+        for(long current = segmentOf(readPosition); oldestSegment < current; oldestSegment++)
+            deleteSegment(oldestSegment); // every record in it has been read, and the header no longer points into it
+    }
+
+    private MappedByteBuffer mapSegment(long index) {
+        try {
+            return map(directory.resolve(segmentName(index)), segmentSize);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteSegment(long index) {
+        try {
+            Files.deleteIfExists(directory.resolve(segmentName(index)));
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteSegmentsBefore(long index) {
+        String first = segmentName(index);
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_GLOB)) { // skips other files
+            for(Path file : files) {
+                if(file.getFileName().toString().compareTo(first) < 0) // zero-padded, so names sort like indexes
+                    Files.deleteIfExists(file);
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size); // grows the file to size
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static String segmentName(long index) {
+        return String.format("%019d", index) + SEGMENT_SUFFIX;
+    }
+
+    private static int recordSize(int length) { // length prefix plus bytes, padded to a multiple of 4
+        return (LENGTH_SIZE + length + 3) & ~3;
+    }
+
+    private long segmentOf(long position) {
+        return position >>> shift;
+    }
+
+    private int offsetOf(long position) {
+        return (int) position & (segmentSize - 1);
+    }
+
+    private void checkOpen() {
+        if(header == null)
+            throw new IllegalStateException("Journal has been closed");
+    }
+}
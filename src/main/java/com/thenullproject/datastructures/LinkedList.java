@@ -31,11 +31,19 @@ import java.util.NoSuchElementException;
  *
  * In an empty list, the sentinel's previous and next fields point to itself.
  *
+ * Like {@link QueueLL}, a list can be created in pooled mode, where popped nodes are kept on a bounded free-list with
+ * their values cleared and reused by the next pushes and adds.
+ *
+ * Pushes, pops and the high-water size are recorded in {@link Metrics} when it is enabled.
+ *
  */
 public class LinkedList<T> {
 
+    private final int poolCapacity;
     private ListNode<T> head;
     private ListNode<T> tail;
+    private ListNode<T> pool; // released nodes, values cleared
+    private int pooled;
     private int size;
 
     private static class ListNode<T> {
@@ -53,40 +61,60 @@ public class LinkedList<T> {
         }
 
 
-        void addAfter(T value) { // O(1)
-            next = new ListNode<>(value, next);
+        void addAfter(ListNode<T> node) { // O(1)
+            node.next = next;
+            next = node;
         }
 
-        ListNode<T> getNthNode(int n) {
-            if(n == 0)
-                return this;
-            else if(n < 0 || next == null)
+        ListNode<T> getNthNode(int n) { // iterative, so long lists don't overflow the stack
+            if(n < 0)
                 return null;
-            else
-                return next.getNthNode(n - 1);
+            ListNode<T> node = this;
+            while(n-- > 0 && node != null)
+                node = node.next;
+            return node;
         }
 
     }
 
     public LinkedList() {
+        this(0);
+    }
+
+    /**
+     * @param poolCapacity maximum number of popped nodes to keep for reuse, 0 disables pooling
+     */
+    public LinkedList(int poolCapacity) {
+        if(poolCapacity < 0)
+            throw new IllegalArgumentException("Pool capacity cannot be less than zero.");
+        this.poolCapacity = poolCapacity;
         size = 0;
     }
 
     public void pushFront(T value) {
-        head = new ListNode<>(value, head);
+        head = newNode(value, head);
         if(tail == null) // set tail pointer
             tail = head;
         size++;
+        if(Metrics.ENABLED)
+            Metrics.LINKED_LIST.operation(size);
     }
 
     public T popFront() {
-        if(head == null)
+        if(head == null) {
+            if(Metrics.ENABLED)
+                Metrics.LINKED_LIST.empty();
             throw new NoSuchElementException();
+        }
         ListNode<T> temp = head;
         if((head = head.next) == null)
             tail = null;
         size--;
-        return temp.value;
+        if(Metrics.ENABLED)
+            Metrics.LINKED_LIST.operation();
+        T value = temp.value;
+        release(temp);
+        return value;
     }
 
     /**
@@ -94,7 +122,7 @@ public class LinkedList<T> {
      * @param value value to assign to node
      */
     public void pushBack(T value) {
-        ListNode<T> temp = new ListNode<>(value);
+        ListNode<T> temp = newNode(value, null);
         if(tail == null) // set head and tail
             head = tail = temp;
         else {
@@ -102,6 +130,8 @@ public class LinkedList<T> {
             tail = temp;
         }
         size++;
+        if(Metrics.ENABLED)
+            Metrics.LINKED_LIST.operation(size);
     }
 
     /**
@@ -110,34 +140,51 @@ public class LinkedList<T> {
      */
     public void pushBackWithoutTail(T value) {
         if(head == null)
-            head = new ListNode<>(value);
+            head = newNode(value, null);
         else {
             ListNode<T> temp = head;
             while(temp.next != null)
                 temp = temp.next;
-            temp.next = new ListNode<>(value);
+            temp.next = newNode(value, null);
         }
 
         size++;
+        if(Metrics.ENABLED)
+            Metrics.LINKED_LIST.operation(size);
     }
 
     public T popBack() {
-        if(head == null)
+        if(head == null) {
+            if(Metrics.ENABLED)
+                Metrics.LINKED_LIST.empty();
             throw new NoSuchElementException();
-        ListNode<T> temp = head;
-        while(temp.next != tail)
-            temp = temp.next;
-        tail = temp;
+        }
+        ListNode<T> removed = tail;
+        if(head == tail) // single node, the list becomes empty
+            head = tail = null;
+        else {
+            ListNode<T> temp = head;
+            while(temp.next != tail)
+                temp = temp.next;
+            tail = temp;
+            tail.next = null;
+        }
         size--;
-        return tail.next.value;
+        if(Metrics.ENABLED)
+            Metrics.LINKED_LIST.operation();
+        T value = removed.value;
+        release(removed);
+        return value;
     }
 
     public void addAfter(int index, T value) { // O(n)
         ListNode<T> nthNode = head.getNthNode(index);
         if(nthNode == null)
             throw new IndexOutOfBoundsException();
-        nthNode.addAfter(value);
+        nthNode.addAfter(newNode(value, null));
         size++;
+        if(Metrics.ENABLED)
+            Metrics.LINKED_LIST.operation(size);
     }
 
     public void addBefore(int index, T value) { // O(n)
@@ -147,8 +194,10 @@ public class LinkedList<T> {
             ListNode<T> nthNode = head.getNthNode(index - 1);
             if(nthNode == null)
                 throw new IndexOutOfBoundsException();
-            nthNode.addAfter(value);
+            nthNode.addAfter(newNode(value, null));
             size++;
+            if(Metrics.ENABLED)
+                Metrics.LINKED_LIST.operation(size);
         }
     }
 
@@ -162,4 +211,30 @@ public class LinkedList<T> {
     public int size() {
         return size;
     }
+
+    int pooled() { // for tests
+        return pooled;
+    }
+
+    // private methods
+
+    private ListNode<T> newNode(T value, ListNode<T> next) {
+        ListNode<T> node = pool;
+        if(node == null)
+            return new ListNode<>(value, next);
+        pool = node.next;
+        pooled--;
+        node.value = value;
+        node.next = next;
+        return node;
+    }
+
+    private void release(ListNode<T> node) {
+        if(pooled == poolCapacity)
+            return; // pool is full (or disabled), leave the node to the garbage collector
+        node.value = null;
+        node.next = pool;
+        pool = node;
+        pooled++;
+    }
 }
@@ -1,9 +1,251 @@
 package com.thenullproject.datastructures;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Linked list implementation without the fuss...
+ *
+ * Lists are immutable, so every operation returns a new list and shares as much of the old one as it can. A list can
+ * only be extended at the front, so drop, and the tails of concat and filter, are reused as they are, while the nodes
+ * in front of them are rebuilt. Rebuilding goes through a temporary array from the back, which keeps every operation a
+ * loop rather than a recursion, so lists of millions of nodes don't overflow the stack.
+ *
+ * Each node stores the size of the list starting at it, so size is O(1).
  */
-public sealed interface LinkedListV2<T> {
-    record Empty<T>() implements LinkedListV2<T> {}
-    record Node<T>(T value, Node<T> next) implements LinkedListV2<T> {}
+public sealed interface LinkedListV2<T> extends Iterable<T> {
+
+    record Empty<T>() implements LinkedListV2<T> {
+
+        private static final Empty<?> INSTANCE = new Empty<>();
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "[]";
+        }
+    }
+
+    record Node<T>(T value, Node<T> next, int size) implements LinkedListV2<T> {
+
+        public Node {
+            if(size != (next == null ? 1 : next.size + 1))
+                throw new IllegalArgumentException("Size must be one more than the size of next");
+        }
+
+        public Node(T value, Node<T> next) {
+            this(value, next, next == null ? 1 : next.size + 1);
+        }
+
+        // equals, hashCode and toString loop over the nodes, the generated record versions recurse through next
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Node<?> other) || size != other.size)
+                return false;
+            for(Node<?> a = this, b = other; a != null; a = a.next, b = b.next) {
+                if(a == b) // shared tail
+                    return true;
+                if(!Objects.equals(a.value, b.value))
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            for(Node<T> node = this; node != null; node = node.next)
+                hash = 31 * hash + Objects.hashCode(node.value);
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for(Node<T> node = this; node != null; node = node.next)
+                joiner.add(String.valueOf(node.value));
+            return joiner.toString();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> LinkedListV2<T> empty() {
+        return (LinkedListV2<T>) Empty.INSTANCE;
+    }
+
+    /**
+     * Create a list with the values of an array, in order. O(n) operation.
+     * @param values values of the list
+     * @return new list
+     */
+    @SafeVarargs
+    static <T> LinkedListV2<T> fromArray(T... values) {
+        Node<T> node = null;
+        for(int i = values.length - 1; i >= 0; i--) // only reads elements, the array itself is never passed on
+            node = new Node<>(values[i], node);
+        return node == null ? empty() : node;
+    }
+
+    int size();
+
+    default boolean isEmpty() {
+        return this instanceof Empty;
+    }
+
+    default T get(int index) { // O(n)
+        if(index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Provided index is out of bounds");
+        Node<T> node = first();
+        while(index-- > 0)
+            node = node.next();
+        return node.value();
+    }
+
+    default LinkedListV2<T> reverse() { // O(n)
+        Node<T> reversed = null;
+        for(Node<T> node = first(); node != null; node = node.next())
+            reversed = new Node<>(node.value(), reversed);
+        return reversed == null ? empty() : reversed;
+    }
+
+    default <R> LinkedListV2<R> map(Function<? super T, ? extends R> mapper) { // O(n)
+        Object[] values = new Object[size()];
+        int count = 0;
+        for(Node<T> node = first(); node != null; node = node.next())
+            values[count++] = mapper.apply(node.value());
+        return prepend(values, count, null);
+    }
+
+    /**
+     * Keep the values matching predicate. The part of the list after the last removed value is shared, only the kept
+     * values before it are copied. O(n) operation.
+     * @param predicate test for values to keep
+     * @return list of the matching values, this list if all of them match
+     */
+    default LinkedListV2<T> filter(Predicate<? super T> predicate) {
+        Object[] kept = new Object[size()];
+        int count = 0;
+        int copied = 0; // number of kept values in front of the shared tail
+        Node<T> tail = first();
+        for(Node<T> node = first(); node != null; node = node.next()) {
+            if(predicate.test(node.value())) {
+                kept[count++] = node.value();
+            } else {
+                tail = node.next();
+                copied = count;
+            }
+        }
+        if(tail == first()) // nothing removed
+            return this;
+        return prepend(kept, copied, tail);
+    }
+
+    default <R> R foldLeft(R initial, BiFunction<? super R, ? super T, ? extends R> function) { // O(n)
+        R result = initial;
+        for(Node<T> node = first(); node != null; node = node.next())
+            result = function.apply(result, node.value());
+        return result;
+    }
+
+    /**
+     * Append another list to this one. The other list is shared, the nodes of this list are copied. O(n) operation
+     * where n is the size of this list.
+     * @param other list to append
+     * @return list with the values of this list followed by the values of other
+     */
+    default LinkedListV2<T> concat(LinkedListV2<T> other) {
+        if(other.isEmpty())
+            return this;
+        if(isEmpty())
+            return other;
+        return prepend(toArray(), size(), (Node<T>) other);
+    }
+
+    default LinkedListV2<T> take(int count) { // O(count), copies the taken nodes
+        if(count < 0)
+            throw new IllegalArgumentException("Count cannot be negative");
+        if(count >= size())
+            return this;
+        Object[] values = new Object[count];
+        Node<T> node = first();
+        for(int i = 0; i < count; i++, node = node.next())
+            values[i] = node.value();
+        return prepend(values, count, null);
+    }
+
+    default LinkedListV2<T> drop(int count) { // O(count), shares the remaining nodes
+        if(count < 0)
+            throw new IllegalArgumentException("Count cannot be negative");
+        Node<T> node = first();
+        for(int i = 0; i < count && node != null; i++)
+            node = node.next();
+        return node == null ? empty() : node;
+    }
+
+    default Object[] toArray() {
+        Object[] values = new Object[size()];
+        int i = 0;
+        for(Node<T> node = first(); node != null; node = node.next())
+            values[i++] = node.value();
+        return values;
+    }
+
+    @Override
+    default Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private Node<T> node = first();
+
+            @Override
+            public boolean hasNext() {
+                return node != null;
+            }
+
+            @Override
+            public T next() {
+                if(node == null)
+                    throw new NoSuchElementException();
+                T value = node.value();
+                node = node.next();
+                return value;
+            }
+        };
+    }
+
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // private methods
+
+    private Node<T> first() { // null for an empty list
+        return this instanceof Node<T> node ? node : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> LinkedListV2<T> prepend(Object[] values, int count, Node<T> tail) { // values[0..count) in front of tail
+        Node<T> node = tail;
+        for(int i = count - 1; i >= 0; i--)
+            node = new Node<>((T) values[i], node);
+        return node == null ? empty() : node;
+    }
 }
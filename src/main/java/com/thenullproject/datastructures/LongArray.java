@@ -0,0 +1,77 @@
+package com.thenullproject.datastructures;
+
+/**
+ * A dynamic array of long values backed by a long[]. Same contract and power of two growth as {@link Array}, but
+ * values are stored unboxed so pushing and reading them never allocates.
+ */
+public class LongArray {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] arr;
+    private int capacity;
+    private int size;
+
+    public LongArray() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public LongArray(int initialCapacity) {
+        if(initialCapacity <= 0)
+            throw new IllegalArgumentException("Initial size cannot be less than or equal to zero.");
+        else if(initialCapacity <= INITIAL_CAPACITY)
+            capacity = INITIAL_CAPACITY;
+        else
+            capacity = Integer.highestOneBit(initialCapacity) << 1;
+        arr = new long[capacity];
+        size = 0;
+    }
+
+    public long get(int i) {
+        checkIndexWithinBounds(i);
+        return arr[i];
+    }
+
+    public void set(int i, long value) {
+        checkIndexWithinBounds(i);
+        arr[i] = value;
+    }
+
+    public void push(long value) {
+        if(size == capacity) {
+            // allocate new array
+            long[] temp = new long[capacity << 1];
+            System.arraycopy(arr, 0, temp, 0, size);
+            arr = temp;
+            capacity = capacity << 1;
+        }
+        arr[size++] = value;
+    }
+
+    public long pop() {
+        if(size > 0)
+            return arr[--size];
+        throw new IndexOutOfBoundsException("Cannot pop off empty list");
+    }
+
+    public void remove(int i) {
+        checkIndexWithinBounds(i);
+        System.arraycopy(arr, i + 1, arr, i, size - i - 1);
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // private methods
+
+    private void checkIndexWithinBounds(int i) {
+        if(i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("Provided index is out of bounds");
+    }
+}
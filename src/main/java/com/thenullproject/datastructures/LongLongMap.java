@@ -0,0 +1,265 @@
+package com.thenullproject.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from long keys to long values, stored in two flat long arrays with open addressing, so neither keys nor
+ * values are ever boxed. Same table layout, hashing, linear probing and backward-shift deletion as
+ * {@link LongObjectMap}.
+ *
+ * Methods that have no value to return (get and remove of a missing key, put of a new key) return the map's
+ * missingValue, which is 0 unless another value is given to the constructor. Use containsKey when missingValue can also
+ * be a stored value.
+ */
+public class LongLongMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    private static final long EMPTY = 0;
+
+    /**
+     * Receives each mapping of the map in {@link #forEach(LongLongConsumer)}.
+     */
+    @FunctionalInterface
+    public interface LongLongConsumer {
+
+        void accept(long key, long value);
+    }
+
+    private final float loadFactor;
+    private final long missingValue;
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int shift; // 64 - log2(table length)
+    private int threshold; // resize before size grows past this
+    private int size; // including the zero key
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    /**
+     * @param initialCapacity number of mappings the map can hold before resizing
+     * @param loadFactor fraction of the table that can be used before it doubles, between 0.1 and 0.9
+     * @param missingValue value returned for missing keys
+     */
+    public LongLongMap(int initialCapacity, float loadFactor, long missingValue) {
+        if(initialCapacity <= 0)
+            throw new IllegalArgumentException("Initial size cannot be less than or equal to zero.");
+        if(!(loadFactor >= 0.1f && loadFactor <= 0.9f))
+            throw new IllegalArgumentException("Load factor must be between 0.1 and 0.9");
+        this.loadFactor = loadFactor;
+        this.missingValue = missingValue;
+        allocate(tableLength(initialCapacity, loadFactor));
+    }
+
+    /**
+     * @param key key to look up
+     * @return value mapped to key, or missingValue if there is none
+     */
+    public long get(long key) {
+        if(key == EMPTY)
+            return hasZeroKey ? zeroValue : missingValue;
+        for(int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if(existing == key)
+                return values[slot];
+            if(existing == EMPTY)
+                return missingValue;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if(key == EMPTY)
+            return hasZeroKey;
+        for(int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if(existing == key)
+                return true;
+            if(existing == EMPTY)
+                return false;
+        }
+    }
+
+    /**
+     * Map key to value, replacing any existing value. O(1) operation on average.
+     * @param key key to map
+     * @param value value to map key to
+     * @return previous value mapped to key, or missingValue if there was none
+     */
+    public long put(long key, long value) {
+        if(key == EMPTY) {
+            long previous = hasZeroKey ? zeroValue : missingValue;
+            zeroValue = value;
+            if(!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return previous;
+        }
+        int slot = slotOf(key);
+        for(long existing; (existing = keys[slot]) != EMPTY; slot = (slot + 1) & mask) {
+            if(existing == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        if(size >= threshold) { // full up to the load factor, grow before adding
+            resize();
+            slot = freeSlot(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return missingValue;
+    }
+
+    /**
+     * Add delta to the value mapped to key, mapping key to delta if it has no value. O(1) operation on average.
+     * @param key key to update
+     * @param delta amount to add
+     * @return new value mapped to key
+     */
+    public long increment(long key, long delta) {
+        if(key == EMPTY) {
+            long value = hasZeroKey ? zeroValue + delta : delta;
+            put(EMPTY, value);
+            return value;
+        }
+        for(int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if(existing == key)
+                return values[slot] += delta;
+            if(existing == EMPTY) {
+                put(key, delta);
+                return delta;
+            }
+        }
+    }
+
+    /**
+     * Remove the mapping for key, if there is one. O(1) operation on average.
+     * @param key key to remove
+     * @return value key was mapped to, or missingValue if there was none
+     */
+    public long remove(long key) {
+        if(key == EMPTY) {
+            if(!hasZeroKey)
+                return missingValue;
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        for(int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if(existing == EMPTY)
+                return missingValue;
+            if(existing == key) {
+                long previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Pass every mapping to the consumer, in no particular order. Doesn't allocate. The map must not be modified while
+     * this is running.
+     * @param consumer receives each key and value
+     */
+    public void forEach(LongLongConsumer consumer) {
+        if(hasZeroKey)
+            consumer.accept(EMPTY, zeroValue);
+        for(int slot = 0; slot < keys.length; slot++) {
+            if(keys[slot] != EMPTY)
+                consumer.accept(keys[slot], values[slot]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean empty() {
+        return size == 0;
+    }
+
+    /**
+     * @return length of the table, a power of two
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public long missingValue() {
+        return missingValue;
+    }
+
+    // private methods
+
+    private void shiftBack(int hole) { // empty the slot at hole, moving later keys of the probe run back into it
+        for(int slot = (hole + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = slotOf(keys[slot]);
+            if(((slot - home) & mask) >= ((slot - hole) & mask)) { // hole is between home and slot, so it can move
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private void resize() {
+        if(keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("Reached map max capacity");
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(keys.length << 1);
+        for(int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if(key != EMPTY) {
+                int slot = freeSlot(key);
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int freeSlot(long key) { // first free slot of key's probe run, key must not be in the table
+        int slot = slotOf(key);
+        while(keys[slot] != EMPTY)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        values = new long[length];
+        mask = length - 1;
+        shift = Long.numberOfLeadingZeros(mask); // 64 - log2(length)
+        threshold = Math.min((int) (length * loadFactor), length - 1); // always leave a free slot to end probes
+    }
+
+    private int slotOf(long key) { // top bits of the product, the only ones every bit of the key has mixed into
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static int tableLength(int capacity, float loadFactor) {
+        long length = Math.max(INITIAL_CAPACITY, (long) Math.ceil(capacity / (double) loadFactor));
+        if(length > MAX_CAPACITY)
+            throw new IllegalArgumentException("Initial size cannot be larger than " + (int) (MAX_CAPACITY * loadFactor));
+        return 1 << (64 - Long.numberOfLeadingZeros(length - 1));
+    }
+}
@@ -0,0 +1,246 @@
+package com.thenullproject.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from long keys to object values, stored in two flat arrays (long[] keys, Object[] values) with open
+ * addressing, so keys are never boxed and there is no entry object per mapping.
+ *
+ * The table length is a power of two, like {@link Array}'s capacity. A key's home slot is the top log2(length) bits
+ * of the key multiplied by 2^64 / golden ratio. Every bit of the key mixes into the top bits of the product, so
+ * sequential keys and keys that differ only in their high bits both spread over the table. Collisions use linear
+ * probing: a key goes in the first free slot after its home slot, so a lookup reads neighbouring slots, usually from
+ * the same cache line.
+ *
+ * A slot is free when its key is 0, key 0 itself is kept in separate fields. remove uses backward-shift deletion:
+ * each following key in the probe run that would still be found from its home slot moves back into the hole, so
+ * there are no tombstones and lookups never slow down after many removals. The table doubles when adding a key would
+ * take size past capacity * loadFactor.
+ *
+ * Null values are not allowed, get uses null to signal a missing key.
+ */
+public class LongObjectMap<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    private static final long EMPTY = 0;
+
+    /**
+     * Receives each mapping of the map in {@link #forEach(LongObjectConsumer)}.
+     */
+    @FunctionalInterface
+    public interface LongObjectConsumer<V> {
+
+        void accept(long key, V value);
+    }
+
+    private final float loadFactor;
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift; // 64 - log2(table length)
+    private int threshold; // resize before size grows past this
+    private int size; // including the zero key
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectMap() {
+        this(INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of mappings the map can hold before resizing
+     * @param loadFactor fraction of the table that can be used before it doubles, between 0.1 and 0.9
+     */
+    public LongObjectMap(int initialCapacity, float loadFactor) {
+        if(initialCapacity <= 0)
+            throw new IllegalArgumentException("Initial size cannot be less than or equal to zero.");
+        if(!(loadFactor >= 0.1f && loadFactor <= 0.9f))
+            throw new IllegalArgumentException("Load factor must be between 0.1 and 0.9");
+        this.loadFactor = loadFactor;
+        allocate(tableLength(initialCapacity, loadFactor));
+    }
+
+    /**
+     * @param key key to look up
+     * @return value mapped to key, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if(key == EMPTY)
+            return zeroValue;
+        for(int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if(existing == key)
+                return (V) values[slot];
+            if(existing == EMPTY)
+                return null;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return key == EMPTY ? hasZeroKey : get(key) != null;
+    }
+
+    /**
+     * Map key to value, replacing any existing value. O(1) operation on average.
+     * @param key key to map
+     * @param value value to map key to
+     * @return previous value mapped to key, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if(value == null)
+            throw new NullPointerException("Null values are not supported");
+        if(key == EMPTY) {
+            V previous = zeroValue;
+            zeroValue = value;
+            if(!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return previous;
+        }
+        int slot = slotOf(key);
+        for(long existing; (existing = keys[slot]) != EMPTY; slot = (slot + 1) & mask) {
+            if(existing == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        if(size >= threshold) { // full up to the load factor, grow before adding
+            resize();
+            slot = freeSlot(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Remove the mapping for key, if there is one. O(1) operation on average.
+     * @param key key to remove
+     * @return value key was mapped to, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if(key == EMPTY) {
+            V previous = zeroValue;
+            if(hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return previous;
+        }
+        for(int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if(existing == EMPTY)
+                return null;
+            if(existing == key) {
+                V previous = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Pass every mapping to the consumer, in no particular order. Doesn't allocate. The map must not be modified while
+     * this is running.
+     * @param consumer receives each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<? super V> consumer) {
+        if(hasZeroKey)
+            consumer.accept(EMPTY, zeroValue);
+        for(int slot = 0; slot < keys.length; slot++) {
+            if(keys[slot] != EMPTY)
+                consumer.accept(keys[slot], (V) values[slot]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean empty() {
+        return size == 0;
+    }
+
+    /**
+     * @return length of the table, a power of two
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    // private methods
+
+    private void shiftBack(int hole) { // empty the slot at hole, moving later keys of the probe run back into it
+        for(int slot = (hole + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = slotOf(keys[slot]);
+            if(((slot - home) & mask) >= ((slot - hole) & mask)) { // hole is between home and slot, so it can move
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+    }
+
+    private void resize() {
+        if(keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("Reached map max capacity");
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(keys.length << 1);
+        for(int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if(key != EMPTY) {
+                int slot = freeSlot(key);
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int freeSlot(long key) { // first free slot of key's probe run, key must not be in the table
+        int slot = slotOf(key);
+        while(keys[slot] != EMPTY)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        values = new Object[length];
+        mask = length - 1;
+        shift = Long.numberOfLeadingZeros(mask); // 64 - log2(length)
+        threshold = Math.min((int) (length * loadFactor), length - 1); // always leave a free slot to end probes
+    }
+
+    private int slotOf(long key) { // top bits of the product, the only ones every bit of the key has mixed into
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static int tableLength(int capacity, float loadFactor) {
+        long length = Math.max(INITIAL_CAPACITY, (long) Math.ceil(capacity / (double) loadFactor));
+        if(length > MAX_CAPACITY)
+            throw new IllegalArgumentException("Initial size cannot be larger than " + (int) (MAX_CAPACITY * loadFactor));
+        return 1 << (64 - Long.numberOfLeadingZeros(length - 1));
+    }
+}
@@ -0,0 +1,309 @@
+package com.thenullproject.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A ring buffer of variable length byte messages stored outside the Java heap, in a direct {@link ByteBuffer}, for one
+ * consumer thread and either one or many producer threads.
+ *
+ * Like {@link SpscQueueA} the write (tail) and read (head) positions only ever increase and are masked to find an
+ * index in the buffer, but they count bytes rather than items. Every message is written as a record: an 8 byte header
+ * (int length including the header, int type) followed by the payload, padded to a multiple of 8 bytes. A record
+ * never wraps around the end of the buffer, when it doesn't fit in the space left before the end a padding record
+ * fills that space and the message goes at the start of the buffer.
+ *
+ * Producers write in place with claim/commit: claim reserves room for a record and returns the index to write the
+ * payload at, commit then publishes the record by storing its length with a release store. The consumer reads length
+ * with an acquire load and stops at the first record that isn't committed yet (length <= 0). After reading it zeroes
+ * the bytes it has consumed before moving head forward, so uncommitted records in the next lap always read as 0.
+ *
+ * In {@link ProducerMode#SINGLE} the tail is only written by the producer thread. In {@link ProducerMode#MULTI}
+ * producers reserve space by moving the tail with a CAS, and may commit in any order, the consumer waits for the
+ * oldest record. Messages can be at most half the capacity, which guarantees any message fits in an empty ring.
+ */
+public class MessageRing extends MessageRingPad2 {
+
+    public static final int HEADER_LENGTH = 8;
+
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int ALIGNMENT = 8;
+    private static final int TYPE_OFFSET = 4;
+    private static final int MESSAGE_TYPE = 0;
+    private static final int PADDING_TYPE = -1;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    public enum ProducerMode { SINGLE, MULTI }
+
+    /**
+     * Receives each message read from the ring. The payload is the length bytes of buffer starting at index, and is
+     * only valid until onMessage returns. The handler must only use absolute get methods on the buffer.
+     */
+    @FunctionalInterface
+    public interface MessageHandler {
+
+        void onMessage(ByteBuffer buffer, int index, int length);
+    }
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final boolean multiProducer;
+
+    /**
+     * @param capacity size of the ring in bytes, rounded up to the next power of two (at least 64)
+     * @param mode whether one or many threads write to the ring
+     */
+    public MessageRing(int capacity, ProducerMode mode) {
+        if(capacity <= 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        this.capacity = Math.max(MIN_CAPACITY, 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1)));
+        mask = this.capacity - 1;
+        multiProducer = mode == ProducerMode.MULTI;
+        // aligned so the int header can be accessed with acquire/release
+        buffer = ByteBuffer.allocateDirect(this.capacity + ALIGNMENT - 1).alignedSlice(ALIGNMENT).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Reserve room for a message of length bytes. The payload must then be written to {@link #buffer()} from the
+     * returned index, using absolute put methods, and the message published with {@link #commit(int)} or dropped with
+     * {@link #abort(int)}.
+     * @param length payload length in bytes, at most {@link #maxMessageLength()}
+     * @return index of the payload in the buffer, or -1 if the ring doesn't have room
+     */
+    public int claim(int length) {
+        if(length < 0 || length > maxMessageLength())
+            throw new IllegalArgumentException("Message length must be between 0 and " + maxMessageLength());
+        int required = align(HEADER_LENGTH + length);
+        long tail;
+        int index;
+        int padding;
+        if(multiProducer) {
+            while(true) {
+                tail = (long) TAIL.getVolatile(this);
+                index = (int) tail & mask;
+                padding = required > capacity - index ? capacity - index : 0;
+                long minHead = tail + padding + required - capacity; // head must have reached this for enough room
+                if((long) CACHED_HEAD.getAcquire(this) < minHead) {
+                    long head = (long) HEAD.getAcquire(this);
+                    if(head < minHead)
+                        return -1;
+                    CACHED_HEAD.setRelease(this, head);
+                }
+                if(TAIL.compareAndSet(this, tail, tail + padding + required))
+                    break;
+            }
+        } else {
+            tail = this.tail;
+            index = (int) tail & mask;
+            padding = required > capacity - index ? capacity - index : 0;
+            long minHead = tail + padding + required - capacity;
+            if(cachedHead < minHead) {
+                cachedHead = (long) HEAD.getAcquire(this);
+                if(cachedHead < minHead)
+                    return -1;
+            }
+            TAIL.setRelease(this, tail + padding + required);
+        }
+        if(padding != 0) { // fill up to the end of the buffer, the record goes at the start
+            buffer.putInt(index + TYPE_OFFSET, PADDING_TYPE);
+            INT.setRelease(buffer, index, padding);
+            index = 0;
+        }
+        buffer.putInt(index + TYPE_OFFSET, MESSAGE_TYPE);
+        buffer.putInt(index, -(HEADER_LENGTH + length)); // claimed, not visible to the consumer yet
+        return index + HEADER_LENGTH;
+    }
+
+    /**
+     * Publish a claimed message to the consumer.
+     * @param index index returned by {@link #claim(int)}
+     */
+    public void commit(int index) {
+        int header = index - HEADER_LENGTH;
+        INT.setRelease(buffer, header, -claimedLength(header));
+    }
+
+    /**
+     * Drop a claimed message, its space is skipped by the consumer.
+     * @param index index returned by {@link #claim(int)}
+     */
+    public void abort(int index) {
+        int header = index - HEADER_LENGTH;
+        int length = -claimedLength(header);
+        buffer.putInt(header + TYPE_OFFSET, PADDING_TYPE);
+        INT.setRelease(buffer, header, length);
+    }
+
+    /**
+     * Copy the remaining bytes of src into the ring as one message, src's position is moved to its limit.
+     * @param src payload to write
+     * @return true if the message was written, false if the ring doesn't have room
+     */
+    public boolean write(ByteBuffer src) {
+        int length = src.remaining();
+        int index = claim(length);
+        if(index < 0)
+            return false;
+        buffer.put(index, src, src.position(), length);
+        commit(index);
+        src.position(src.limit());
+        return true;
+    }
+
+    /**
+     * Copy length bytes of src, starting at index from, into the ring as one message.
+     * @return true if the message was written, false if the ring doesn't have room
+     */
+    public boolean write(byte[] src, int from, int length) {
+        int index = claim(length);
+        if(index < 0)
+            return false;
+        buffer.put(index, src, from, length);
+        commit(index);
+        return true;
+    }
+
+    /**
+     * Read up to limit messages, oldest first, stopping at the first message that hasn't been committed. Must only be
+     * called from the consumer thread. The space of the whole batch is released with a single update of head.
+     * @param handler receives each message
+     * @param limit maximum number of messages to read
+     * @return number of messages read
+     */
+    public int read(MessageHandler handler, int limit) {
+        long head = this.head;
+        int bytesRead = 0;
+        int count = 0;
+        try {
+            while(count < limit && bytesRead < capacity) {
+                int index = (int) (head + bytesRead) & mask;
+                int length = (int) INT.getAcquire(buffer, index);
+                if(length <= 0) // not committed yet
+                    break;
+                bytesRead += align(length);
+                if(buffer.getInt(index + TYPE_OFFSET) == PADDING_TYPE)
+                    continue;
+                count++;
+                handler.onMessage(buffer, index + HEADER_LENGTH, length - HEADER_LENGTH);
+            }
+        } finally {
+            if(bytesRead > 0) { // messages after a throwing handler stay in the ring
+                zero(head, bytesRead);
+                HEAD.setRelease(this, head + bytesRead);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the ring's buffer, for writing claimed payloads with absolute put methods
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int maxMessageLength() {
+        return (capacity >> 1) - HEADER_LENGTH;
+    }
+
+    /**
+     * Number of bytes claimed and not yet read, including headers and padding. Only a snapshot when called while other
+     * threads are active.
+     * @return bytes in use
+     */
+    public int size() {
+        long head = (long) HEAD.getAcquire(this);
+        long tail = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(tail - head, capacity));
+    }
+
+    /**
+     * Check if ring contains any messages
+     * @return true if the ring is empty, false otherwise
+     */
+    public boolean empty() {
+        return size() == 0;
+    }
+
+    // private methods
+
+    private int claimedLength(int header) {
+        int length = buffer.getInt(header);
+        if(length >= 0)
+            throw new IllegalStateException("Index is not a claimed message");
+        return length;
+    }
+
+    private void zero(long position, int bytes) { // bytes is a multiple of 8, and at most capacity
+        int index = (int) position & mask;
+        int first = Math.min(bytes, capacity - index);
+        for(int i = 0; i < first; i += ALIGNMENT)
+            buffer.putLong(index + i, 0);
+        for(int i = 0; i < bytes - first; i += ALIGNMENT)
+            buffer.putLong(i, 0);
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
+
+// padding and position fields, split across a class hierarchy because the JVM keeps superclass fields before subclass
+// fields, so the producer and consumer positions end up on their own cache lines
+
+@SuppressWarnings("unused")
+abstract class MessageRingPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class MessageRingProducerFields extends MessageRingPad0 {
+
+    static final VarHandle TAIL;
+    static final VarHandle CACHED_HEAD;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(MessageRingProducerFields.class, "tail", long.class);
+            CACHED_HEAD = lookup.findVarHandle(MessageRingProducerFields.class, "cachedHead", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long tail; // next byte position to claim
+    long cachedHead; // producers' last view of head, shared through acquire/release in multi producer mode
+}
+
+@SuppressWarnings("unused")
+abstract class MessageRingPad1 extends MessageRingProducerFields {
+    long p16, p17, p18, p19, p20, p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31;
+}
+
+abstract class MessageRingConsumerFields extends MessageRingPad1 {
+
+    static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(MessageRingConsumerFields.class, "head", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long head; // next byte position to read, written by the consumer only
+}
+
+@SuppressWarnings("unused")
+abstract class MessageRingPad2 extends MessageRingConsumerFields {
+    long p32, p33, p34, p35, p36, p37, p38, p39, p40, p41, p42, p43, p44, p45, p46, p47;
+}
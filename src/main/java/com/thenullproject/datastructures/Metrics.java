@@ -0,0 +1,167 @@
+package com.thenullproject.datastructures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters for {@link Array}, {@link QueueA}, {@link QueueLL} and {@link LinkedList}, enabled by starting the
+ * JVM with -Dcom.thenullproject.datastructures.metrics=true.
+ *
+ * ENABLED is a static final constant, so every call site guarded by if(Metrics.ENABLED) is removed by the JIT compiler
+ * when metrics are off and costs nothing. When they are on, counters are {@link LongAdder}s (striped across cells under
+ * contention, so threads updating them don't fight over one cache line) and the high-water mark is a
+ * {@link LongAccumulator} that only writes when the mark actually rises.
+ *
+ * Counters are kept per structure type, summed over every instance. Resizes and queue-full rejections are also
+ * emitted as JFR events (com.thenullproject.datastructures.Resize and QueueFull) whenever a recording has them
+ * enabled.
+ */
+public final class Metrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("com.thenullproject.datastructures.metrics");
+
+    static final Metrics ARRAY = new Metrics("Array");
+    static final Metrics QUEUE_A = new Metrics("QueueA");
+    static final Metrics QUEUE_LL = new Metrics("QueueLL");
+    static final Metrics LINKED_LIST = new Metrics("LinkedList");
+
+    private static final List<Metrics> ALL = List.of(ARRAY, QUEUE_A, QUEUE_LL, LINKED_LIST);
+
+    private final String structure;
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder resizes = new LongAdder();
+    private final LongAdder copiedElements = new LongAdder();
+    private final LongAdder fullRejections = new LongAdder();
+    private final LongAdder emptyRejections = new LongAdder();
+    private final LongAccumulator highWaterMark = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Counter values for one structure type at the time of the snapshot.
+     * @param operations number of values added and removed, so a batch of k values counts k
+     * @param resizes number of times a backing array was reallocated
+     * @param copiedElements number of elements copied by resizes
+     * @param highWaterMark largest size any instance has reached (not tracked for QueueLL, which has no size)
+     * @param fullRejections number of adds rejected because the structure was full
+     * @param emptyRejections number of removes rejected because the structure was empty
+     */
+    public record Snapshot(long operations, long resizes, long copiedElements, long highWaterMark, long fullRejections,
+                           long emptyRejections) {}
+
+    private Metrics(String structure) {
+        this.structure = structure;
+    }
+
+    /**
+     * @return snapshot of every structure type's counters, keyed by type name (Array, QueueA, QueueLL, LinkedList)
+     */
+    public static Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+        for(Metrics metrics : ALL)
+            snapshots.put(metrics.structure, new Snapshot(metrics.operations.sum(), metrics.resizes.sum(),
+                    metrics.copiedElements.sum(), metrics.highWaterMark.get(), metrics.fullRejections.sum(),
+                    metrics.emptyRejections.sum()));
+        return snapshots;
+    }
+
+    /**
+     * Set every counter back to zero. Not atomic with respect to updates happening at the same time.
+     */
+    public static void reset() {
+        for(Metrics metrics : ALL) {
+            metrics.operations.reset();
+            metrics.resizes.reset();
+            metrics.copiedElements.reset();
+            metrics.fullRejections.reset();
+            metrics.emptyRejections.reset();
+            metrics.highWaterMark.reset();
+        }
+    }
+
+    // recording methods, only called when ENABLED
+
+    void operation(int size) {
+        operations.increment();
+        highWaterMark.accumulate(size);
+    }
+
+    void operation() {
+        operations.increment();
+    }
+
+    void operations(int count, int size) { // a batch of count values, size is the size after it
+        operations.add(count);
+        highWaterMark.accumulate(size);
+    }
+
+    void operations(int count) {
+        operations.add(count);
+    }
+
+    void resize(int oldCapacity, int newCapacity, int copied) {
+        resizes.increment();
+        copiedElements.add(copied);
+        ResizeEvent event = new ResizeEvent();
+        if(event.shouldCommit()) {
+            event.structure = structure;
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.copiedElements = copied;
+            event.commit();
+        }
+    }
+
+    void full(int capacity) {
+        fullRejections.increment();
+        QueueFullEvent event = new QueueFullEvent();
+        if(event.shouldCommit()) {
+            event.structure = structure;
+            event.capacity = capacity;
+            event.commit();
+        }
+    }
+
+    void empty() {
+        emptyRejections.increment();
+    }
+
+    @Name("com.thenullproject.datastructures.Resize")
+    @Label("Resize")
+    @Category("Data Structures")
+    @Description("Backing array reallocated to a new capacity")
+    static final class ResizeEvent extends Event {
+
+        @Label("Structure")
+        String structure;
+
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Copied Elements")
+        int copiedElements;
+    }
+
+    @Name("com.thenullproject.datastructures.QueueFull")
+    @Label("Queue Full")
+    @Category("Data Structures")
+    @Description("Add rejected because the queue was at capacity")
+    static final class QueueFullEvent extends Event {
+
+        @Label("Structure")
+        String structure;
+
+        @Label("Capacity")
+        int capacity;
+    }
+}
@@ -0,0 +1,183 @@
+package com.thenullproject.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A bounded lock-free circular queue that any number of producer and consumer threads can share (Dmitry Vyukov's
+ * bounded MPMC queue).
+ *
+ * Like {@link SpscQueueA}, the read (head) and write (tail) cursors only ever increase and are masked to find a slot.
+ * Because several threads now race for the same cursor, each one is claimed with a CAS, and every slot carries its
+ * own sequence number saying whose turn it is:
+ *  - sequence == position, the slot is free for the producer claiming that position
+ *  - sequence == position + 1, the slot holds an item for the consumer claiming that position
+ *
+ * After writing (or clearing) a slot, the thread that claimed it publishes the next sequence number with a release
+ * store, so threads only ever contend on the cursor they are moving and never on a shared size variable or lock.
+ *
+ * Null values are not allowed, poll uses null to signal an empty queue.
+ */
+public class MpmcQueueA<T> extends MpmcQueueAPad2 {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Object[] arr;
+    private final long[] sequences;
+    private final int mask;
+
+    public MpmcQueueA() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of items, rounded up to the next power of two (at least 2)
+     */
+    public MpmcQueueA(int capacity) {
+        if(capacity <= 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        int size = Math.max(2, 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1)));
+        arr = new Object[size];
+        sequences = new long[size];
+        for(int i = 0; i < size; i++)
+            sequences[i] = i;
+        mask = size - 1;
+    }
+
+    /**
+     * Add item to the queue. O(1) operation, lock-free.
+     * @param value value to add
+     * @return true if the item was added, false if the queue is full
+     */
+    public boolean offer(T value) {
+        if(value == null)
+            throw new NullPointerException("Null values are not supported");
+        long write = (long) TAIL.getVolatile(this);
+        int slot;
+        while(true) {
+            slot = (int) write & mask;
+            long difference = (long) SEQUENCE.getAcquire(sequences, slot) - write;
+            if(difference == 0) {
+                if(TAIL.compareAndSet(this, write, write + 1))
+                    break; // claimed
+                write = (long) TAIL.getVolatile(this);
+            } else if(difference < 0) {
+                return false; // slot still holds an item from the previous lap
+            } else {
+                write = (long) TAIL.getVolatile(this); // another producer got here first
+            }
+        }
+        arr[slot] = value;
+        SEQUENCE.setRelease(sequences, slot, write + 1);
+        return true;
+    }
+
+    /**
+     * Removes and returns item from the queue. O(1) operation, lock-free.
+     * @return the least-recently added item in the queue, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long read = (long) HEAD.getVolatile(this);
+        int slot;
+        while(true) {
+            slot = (int) read & mask;
+            long difference = (long) SEQUENCE.getAcquire(sequences, slot) - (read + 1);
+            if(difference == 0) {
+                if(HEAD.compareAndSet(this, read, read + 1))
+                    break; // claimed
+                read = (long) HEAD.getVolatile(this);
+            } else if(difference < 0) {
+                return null; // slot not written yet
+            } else {
+                read = (long) HEAD.getVolatile(this); // another consumer got here first
+            }
+        }
+        T value = (T) arr[slot];
+        arr[slot] = null;
+        SEQUENCE.setRelease(sequences, slot, read + mask + 1); // free for the producer one lap later
+        return value;
+    }
+
+    /**
+     * Number of items in the queue. Only a snapshot when other threads are active.
+     * @return number of items in the queue
+     */
+    public int size() {
+        while(true) {
+            long read = (long) HEAD.getVolatile(this);
+            long write = (long) TAIL.getVolatile(this);
+            if(read == (long) HEAD.getVolatile(this)) // consistent pair
+                return (int) Math.max(0, Math.min(write - read, capacity()));
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Check if queue contains any items
+     * @return true if the queue is empty, false otherwise
+     */
+    public boolean empty() {
+        return size() == 0;
+    }
+
+    /**
+     * Check if queue is at capacity
+     * @return true if the queue is full, false otherwise
+     */
+    public boolean full() {
+        return size() == capacity();
+    }
+}
+
+// padding and cursor fields, see SpscQueueA for why these are split across a class hierarchy
+
+@SuppressWarnings("unused")
+abstract class MpmcQueueAPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class MpmcQueueATailField extends MpmcQueueAPad0 {
+
+    static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(MpmcQueueATailField.class, "tail", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    volatile long tail; // next position to write
+}
+
+@SuppressWarnings("unused")
+abstract class MpmcQueueAPad1 extends MpmcQueueATailField {
+    long p16, p17, p18, p19, p20, p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31;
+}
+
+abstract class MpmcQueueAHeadField extends MpmcQueueAPad1 {
+
+    static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(MpmcQueueAHeadField.class, "head", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    volatile long head; // next position to read
+}
+
+@SuppressWarnings("unused")
+abstract class MpmcQueueAPad2 extends MpmcQueueAHeadField {
+    long p32, p33, p34, p35, p36, p37, p38, p39, p40, p41, p42, p43, p44, p45, p46, p47;
+}
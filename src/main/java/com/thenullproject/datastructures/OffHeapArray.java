@@ -0,0 +1,228 @@
+package com.thenullproject.datastructures;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A dynamic array of fixed-width records stored outside the Java heap, in direct {@link ByteBuffer}s. Records are
+ * packed back to back using a {@link Layout}, so the garbage collector never has to trace or copy them no matter how
+ * many are stored.
+ *
+ * A single direct buffer can't be larger than 2 GiB, so the records are split over fixed size chunks of up to 64 MiB,
+ * each holding a power of two number of records. A record never straddles two chunks, and its chunk and byte offset
+ * come from a shift and mask of its index, so the array holds up to Integer.MAX_VALUE records whatever their size.
+ *
+ * The array follows the same push/pop/get/set/remove semantics as {@link Array}. While everything fits in one chunk
+ * the capacity is a power of two and doubles like Array's, copying the used bytes across in one bulk copy. After that
+ * it grows a chunk at a time and existing records are never copied. Reading a whole record with get/pop creates an
+ * object through the layout, the field accessors (getLong, setInt...) read and write in place without allocating.
+ *
+ * {@link #close()} drops the references to the buffers and after it every operation throws an
+ * IllegalStateException. It does not free the direct memory: that is returned when the garbage collector collects the
+ * buffers and runs their cleaners, as JDK 17 has no supported way to free a direct buffer on demand.
+ */
+public class OffHeapArray<T> implements AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int DEFAULT_CHUNK_BYTES = 1 << 26; // 64 MiB
+
+    /**
+     * Describes how a record is written to and read from its slot. byteSize must stay the same for every record.
+     */
+    public interface Layout<T> {
+
+        int byteSize();
+
+        void write(ByteBuffer buffer, int offset, T value);
+
+        T read(ByteBuffer buffer, int offset);
+    }
+
+    private final Layout<T> layout;
+    private final int recordSize;
+    private final int chunkShift; // log2 of the number of records in a full chunk
+    private final int chunkMask;
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private int capacity;
+    private int size;
+
+    public OffHeapArray(Layout<T> layout) {
+        this(layout, INITIAL_CAPACITY);
+    }
+
+    public OffHeapArray(Layout<T> layout, int initialCapacity) {
+        this(layout, initialCapacity, DEFAULT_CHUNK_BYTES);
+    }
+
+    OffHeapArray(Layout<T> layout, int initialCapacity, int chunkBytes) { // smaller chunks for tests
+        if(layout.byteSize() <= 0)
+            throw new IllegalArgumentException("Record size must be greater than zero.");
+        if(initialCapacity <= 0)
+            throw new IllegalArgumentException("Initial size cannot be less than or equal to zero.");
+        this.layout = layout;
+        this.recordSize = layout.byteSize();
+        int recordsPerChunk = Math.max(1, Integer.highestOneBit(chunkBytes / recordSize));
+        chunkShift = Integer.numberOfTrailingZeros(recordsPerChunk);
+        chunkMask = recordsPerChunk - 1;
+
+        long rounded = initialCapacity <= INITIAL_CAPACITY
+                ? INITIAL_CAPACITY
+                : (long) Integer.highestOneBit(initialCapacity) << 1;
+        if(rounded <= recordsPerChunk) { // one chunk, sized like Array
+            chunks = new ByteBuffer[]{allocate((int) rounded)};
+            chunkCount = 1;
+            capacity = (int) rounded;
+        } else { // whole chunks
+            chunks = new ByteBuffer[(int) (((long) initialCapacity + chunkMask) >>> chunkShift)];
+            for(int c = 0; c < chunks.length; c++)
+                chunks[c] = allocate(recordsPerChunk);
+            chunkCount = chunks.length;
+            capacity = (int) Math.min((long) chunkCount << chunkShift, Integer.MAX_VALUE);
+        }
+        size = 0;
+    }
+
+    public T get(int i) {
+        checkIndexWithinBounds(i);
+        return layout.read(chunk(i), offset(i));
+    }
+
+    public void set(int i, T value) {
+        checkIndexWithinBounds(i);
+        layout.write(chunk(i), offset(i), value);
+    }
+
+    public void push(T value) {
+        checkOpen();
+        if(size == capacity)
+            grow();
+        layout.write(chunk(size), offset(size), value);
+        size++;
+    }
+
+    public T pop() {
+        checkOpen();
+        if(size > 0) {
+            size--;
+            return layout.read(chunk(size), offset(size));
+        }
+        throw new IndexOutOfBoundsException("Cannot pop off empty list");
+    }
+
+    public void remove(int i) {
+        checkIndexWithinBounds(i);
+        int last = size - 1;
+        for(int from = i; from < last; ) { // one bulk copy per chunk, plus one record carried over from the next
+            ByteBuffer chunk = chunk(from);
+            int end = Math.min(last, from | chunkMask); // last index to fill in this chunk
+            chunk.put(offset(from), chunk, offset(from + 1), (end - from) * recordSize);
+            if(end < last)
+                chunk.put(offset(end), chunk(end + 1), 0, recordSize);
+            from = end + 1;
+        }
+        size--;
+    }
+
+    // field accessors, fieldOffset is the byte offset of the field within a record
+
+    public long getLong(int i, int fieldOffset) {
+        int offset = fieldOffset(i, fieldOffset, Long.BYTES); // checks the index before the chunk is looked up
+        return chunk(i).getLong(offset);
+    }
+
+    public void setLong(int i, int fieldOffset, long value) {
+        int offset = fieldOffset(i, fieldOffset, Long.BYTES);
+        chunk(i).putLong(offset, value);
+    }
+
+    public int getInt(int i, int fieldOffset) {
+        int offset = fieldOffset(i, fieldOffset, Integer.BYTES);
+        return chunk(i).getInt(offset);
+    }
+
+    public void setInt(int i, int fieldOffset, int value) {
+        int offset = fieldOffset(i, fieldOffset, Integer.BYTES);
+        chunk(i).putInt(offset, value);
+    }
+
+    public double getDouble(int i, int fieldOffset) {
+        int offset = fieldOffset(i, fieldOffset, Double.BYTES);
+        return chunk(i).getDouble(offset);
+    }
+
+    public void setDouble(int i, int fieldOffset, double value) {
+        int offset = fieldOffset(i, fieldOffset, Double.BYTES);
+        chunk(i).putDouble(offset, value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Drops the backing buffers, the array can't be used afterwards. The direct memory is released once the buffers
+     * are garbage collected, not by this call. Calling close more than once has no effect.
+     */
+    @Override
+    public void close() {
+        chunks = null;
+        chunkCount = size = capacity = 0;
+    }
+
+    // private methods
+
+    private void grow() {
+        if(capacity == Integer.MAX_VALUE)
+            throw new IllegalStateException("Cannot hold more than " + Integer.MAX_VALUE + " records");
+        int recordsPerChunk = chunkMask + 1;
+        if(capacity < recordsPerChunk) {
+            // allocate new buffer and copy used bytes in bulk, still at most one chunk
+            ByteBuffer temp = allocate(capacity << 1);
+            temp.put(0, chunks[0], 0, size * recordSize);
+            chunks[0] = temp;
+            capacity = capacity << 1;
+        } else {
+            // add a chunk, existing records stay where they are
+            if(chunkCount == chunks.length)
+                chunks = Arrays.copyOf(chunks, chunkCount << 1); // one reference per chunk
+            chunks[chunkCount++] = allocate(recordsPerChunk);
+            capacity = (int) Math.min((long) chunkCount << chunkShift, Integer.MAX_VALUE);
+        }
+    }
+
+    private ByteBuffer allocate(int records) {
+        return ByteBuffer.allocateDirect(records * recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer chunk(int i) {
+        return chunks[i >>> chunkShift];
+    }
+
+    private int offset(int i) { // byte offset within the record's chunk
+        return (i & chunkMask) * recordSize;
+    }
+
+    private int fieldOffset(int i, int fieldOffset, int fieldSize) {
+        checkIndexWithinBounds(i);
+        if(fieldOffset < 0 || fieldOffset + fieldSize > recordSize)
+            throw new IndexOutOfBoundsException("Field offset is outside of the record");
+        return offset(i) + fieldOffset;
+    }
+
+    private void checkOpen() {
+        if(chunks == null)
+            throw new IllegalStateException("Array has been closed");
+    }
+
+    private void checkIndexWithinBounds(int i) {
+        checkOpen();
+        if(i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("Provided index is out of bounds");
+    }
+}
@@ -0,0 +1,349 @@
+package com.thenullproject.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * An immutable vector (a bit-partitioned vector trie, as used by Clojure and Scala). Like {@link LinkedListV2} it is
+ * never modified, every update returns a new vector, but indexed access and append don't have to walk a list.
+ *
+ * Values live in the leaves of a tree where every node has up to 32 children. The path to a value is read straight from
+ * its index, 5 bits per level, so a vector of a million values is only 4 levels deep and get/set/append/pop are
+ * O(log32 n), effectively constant. An update copies just the nodes on the path to the changed leaf (at most one per
+ * level), every other node is shared with the old vector, so old versions stay valid and can be read by other threads
+ * without locking.
+ *
+ * The last 32 values are kept in a separate tail array outside the tree, so most appends and pops only copy the tail.
+ *
+ * Building a large vector one append at a time would copy a path for every value, a {@link Builder} (a transient
+ * vector) instead edits the nodes it has created in place and only copies nodes it shares with a persistent vector.
+ */
+public final class PersistentVector<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS; // 32
+    private static final int MASK = WIDTH - 1;
+
+    private static final VectorNode EMPTY_NODE = new VectorNode(null, new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int count;
+    private final int shift; // bits to shift the index by at the root, BITS * (depth of the tree)
+    private final VectorNode root;
+    private final Object[] tail;
+
+    private static final class VectorNode {
+
+        final Object edit; // builder that may modify this node in place, null for persistent nodes
+        final Object[] array;
+
+        VectorNode(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    private PersistentVector(int count, int shift, VectorNode root, Object[] tail) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public static <T> Builder<T> builder() {
+        return PersistentVector.<T>empty().toBuilder();
+    }
+
+    /**
+     * Create a vector with the values of a list, in order. O(n) operation.
+     * @param list list to convert
+     * @return vector with the same values
+     */
+    public static <T> PersistentVector<T> fromList(LinkedListV2<T> list) {
+        Builder<T> builder = builder();
+        if(list instanceof LinkedListV2.Node<T> node)
+            for(LinkedListV2.Node<T> temp = node; temp != null; temp = temp.next())
+                builder.append(temp.value());
+        return builder.build();
+    }
+
+    /**
+     * Create a list with the values of this vector, in order. O(n) operation.
+     * @return list with the same values
+     */
+    @SuppressWarnings("unchecked")
+    public LinkedListV2<T> toList() {
+        LinkedListV2.Node<T> node = null;
+        for(int i = count - 1; i >= 0; ) { // build from the back, one leaf at a time
+            Object[] leaf = arrayFor(i);
+            for(int j = i & MASK; j >= 0; j--, i--)
+                node = new LinkedListV2.Node<>((T) leaf[j], node);
+        }
+        return node == null ? LinkedListV2.empty() : node;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        return (T) arrayFor(i)[i & MASK];
+    }
+
+    /**
+     * @return a new vector with the value at index i replaced
+     */
+    public PersistentVector<T> set(int i, T value) {
+        checkIndexWithinBounds(i);
+        if(i >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[i & MASK] = value;
+            return new PersistentVector<>(count, shift, root, newTail);
+        }
+        return new PersistentVector<>(count, shift, assoc(shift, root, i, value), tail);
+    }
+
+    /**
+     * @return a new vector with value added to the end
+     */
+    public PersistentVector<T> append(T value) {
+        if(count - tailOffset() < WIDTH) { // room in the tail
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(count + 1, shift, root, newTail);
+        }
+        // tail is full, push it into the tree and start a new one
+        VectorNode tailNode = new VectorNode(null, tail);
+        VectorNode newRoot;
+        int newShift = shift;
+        if((count >>> BITS) > (1 << shift)) { // tree is full, add a level
+            newRoot = new VectorNode(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(count, shift, root, tailNode);
+        }
+        return new PersistentVector<>(count + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    /**
+     * @return a new vector without the last value
+     */
+    public PersistentVector<T> pop() {
+        if(count == 0)
+            throw new IndexOutOfBoundsException("Cannot pop off empty vector");
+        if(count == 1)
+            return empty();
+        if(count - tailOffset() > 1) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length - 1);
+            return new PersistentVector<>(count - 1, shift, root, newTail);
+        }
+        // tail becomes empty, the last leaf of the tree becomes the new tail
+        Object[] newTail = arrayFor(count - 2);
+        VectorNode newRoot = popTail(count, shift, root);
+        int newShift = shift;
+        if(newRoot == null)
+            newRoot = EMPTY_NODE;
+        if(shift > BITS && newRoot.array[1] == null) { // root has a single child, drop a level
+            newRoot = (VectorNode) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(count - 1, newShift, newRoot, newTail);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return a builder starting with the values of this vector, this vector is not affected by it
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    /**
+     * A transient vector for building a {@link PersistentVector} quickly. Nodes created by the builder are modified in
+     * place, nodes shared with a persistent vector are copied the first time they are modified. A builder can't be
+     * used after {@link #build()}, and must not be shared between threads.
+     */
+    public static final class Builder<T> {
+
+        private final Object edit = new Object(); // identifies the nodes this builder owns
+        private boolean built;
+        private int count;
+        private int shift;
+        private VectorNode root;
+        private Object[] tail; // always WIDTH long
+
+        private Builder(PersistentVector<T> vector) {
+            count = vector.count;
+            shift = vector.shift;
+            root = new VectorNode(edit, vector.root.array.clone());
+            tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        public Builder<T> append(T value) {
+            checkNotBuilt();
+            if(count - tailOffset(count) < WIDTH) {
+                tail[count & MASK] = value;
+                count++;
+                return this;
+            }
+            VectorNode tailNode = new VectorNode(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = value;
+            if((count >>> BITS) > (1 << shift)) {
+                VectorNode newRoot = new VectorNode(edit, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(shift, root, tailNode);
+            }
+            count++;
+            return this;
+        }
+
+        public Builder<T> set(int i, T value) {
+            checkNotBuilt();
+            if(i < 0 || i >= count)
+                throw new IndexOutOfBoundsException("Provided index is out of bounds");
+            if(i >= tailOffset(count)) {
+                tail[i & MASK] = value;
+            } else {
+                VectorNode node = root = editable(root);
+                for(int level = shift; level > 0; level -= BITS) {
+                    int child = (i >>> level) & MASK;
+                    node = (VectorNode) (node.array[child] = editable((VectorNode) node.array[child]));
+                }
+                node.array[i & MASK] = value;
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int i) {
+            if(i < 0 || i >= count)
+                throw new IndexOutOfBoundsException("Provided index is out of bounds");
+            if(i >= tailOffset(count))
+                return (T) tail[i & MASK];
+            VectorNode node = root;
+            for(int level = shift; level > 0; level -= BITS)
+                node = (VectorNode) node.array[(i >>> level) & MASK];
+            return (T) node.array[i & MASK];
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * @return persistent vector with the builder's values, the builder can't be used afterwards
+         */
+        public PersistentVector<T> build() {
+            checkNotBuilt();
+            built = true;
+            if(count == 0)
+                return empty();
+            return new PersistentVector<>(count, shift, root, Arrays.copyOf(tail, count - tailOffset(count)));
+        }
+
+        private VectorNode pushTail(int level, VectorNode parent, VectorNode tailNode) {
+            VectorNode node = editable(parent);
+            int child = ((count - 1) >>> level) & MASK;
+            if(level == BITS)
+                node.array[child] = tailNode;
+            else if(node.array[child] != null)
+                node.array[child] = pushTail(level - BITS, (VectorNode) node.array[child], tailNode);
+            else
+                node.array[child] = newPath(edit, level - BITS, tailNode);
+            return node;
+        }
+
+        private VectorNode editable(VectorNode node) {
+            return node.edit == edit ? node : new VectorNode(edit, node.array.clone());
+        }
+
+        private void checkNotBuilt() {
+            if(built)
+                throw new IllegalStateException("Builder has already been built");
+        }
+    }
+
+    // private methods
+
+    private int tailOffset() {
+        return tailOffset(count);
+    }
+
+    private static int tailOffset(int count) { // index of the first value in the tail
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(int i) { // leaf (or tail) holding index i
+        checkIndexWithinBounds(i);
+        if(i >= tailOffset())
+            return tail;
+        VectorNode node = root;
+        for(int level = shift; level > 0; level -= BITS)
+            node = (VectorNode) node.array[(i >>> level) & MASK];
+        return node.array;
+    }
+
+    private static VectorNode assoc(int level, VectorNode node, int i, Object value) {
+        VectorNode copy = new VectorNode(null, node.array.clone());
+        if(level == 0)
+            copy.array[i & MASK] = value;
+        else {
+            int child = (i >>> level) & MASK;
+            copy.array[child] = assoc(level - BITS, (VectorNode) node.array[child], i, value);
+        }
+        return copy;
+    }
+
+    private static VectorNode pushTail(int count, int level, VectorNode parent, VectorNode tailNode) {
+        VectorNode copy = new VectorNode(null, parent.array.clone());
+        int child = ((count - 1) >>> level) & MASK;
+        if(level == BITS)
+            copy.array[child] = tailNode;
+        else if(parent.array[child] != null)
+            copy.array[child] = pushTail(count, level - BITS, (VectorNode) parent.array[child], tailNode);
+        else
+            copy.array[child] = newPath(null, level - BITS, tailNode);
+        return copy;
+    }
+
+    private static VectorNode popTail(int count, int level, VectorNode node) { // null if the node ends up empty
+        int child = ((count - 2) >>> level) & MASK;
+        if(level > BITS) {
+            VectorNode newChild = popTail(count, level - BITS, (VectorNode) node.array[child]);
+            if(newChild == null && child == 0)
+                return null;
+            VectorNode copy = new VectorNode(null, node.array.clone());
+            copy.array[child] = newChild;
+            return copy;
+        } else if(child == 0) {
+            return null;
+        }
+        VectorNode copy = new VectorNode(null, node.array.clone());
+        copy.array[child] = null;
+        return copy;
+    }
+
+    private static VectorNode newPath(Object edit, int level, VectorNode node) { // chain of single-child nodes
+        if(level == 0)
+            return node;
+        VectorNode path = new VectorNode(edit, new Object[WIDTH]);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    private void checkIndexWithinBounds(int i) {
+        if(i < 0 || i >= count)
+            throw new IndexOutOfBoundsException("Provided index is out of bounds");
+    }
+}
@@ -1,6 +1,9 @@
 package com.thenullproject.datastructures;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * A circular queue/circular buffer implementation using a static array. This implementation uses a read and write index to make sure dequeue stays an O(1) operation.
@@ -8,6 +11,8 @@ import java.util.NoSuchElementException;
  * Without a size variable, there is no way to know whether a queue is full or empty as the read and write indexes will eventually be the same as the capacity is reached. This can be overcome in two ways:
  *  - Introduce a buffer element (write index - 1) inside the array that can never contain a value, the queue implementation should not allow adding an item here
  *  - Introduce a size variable that tracks the number of items inside the queue and so this value will be 0 if empty, and equal to the capacity if full
+ *
+ * Operations, full and empty rejections and the high-water size are recorded in {@link Metrics} when it is enabled.
  */
 public class QueueA {
 
@@ -34,7 +39,11 @@ public class QueueA {
             if (write >= DEFAULT_CAPACITY)
                 write = 0;
             size++;
+            if(Metrics.ENABLED)
+                Metrics.QUEUE_A.operation(size);
         } else {
+            if(Metrics.ENABLED)
+                Metrics.QUEUE_A.full(DEFAULT_CAPACITY);
             throw new IllegalStateException("Reached queue max capacity");
         }
     }
@@ -45,14 +54,101 @@ public class QueueA {
      */
     public Object dequeue() {
         Object value = arr[read];
-        if(value == null)
+        if(value == null) {
+            if(Metrics.ENABLED)
+                Metrics.QUEUE_A.empty();
             throw new NoSuchElementException("Cannot dequeue from empty queue");
+        }
+        arr[read] = null; // free the slot so it can be written on the next lap
         if(++read >= DEFAULT_CAPACITY)
             read = 0;
         size--;
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_A.operation();
         return value;
     }
 
+    /**
+     * Add len items from src, starting at index from, to the queue. Either all items are added or none are. The items
+     * are copied in at most two bulk copies, one up to the end of the array and one from the start.
+     * @param src items to add, must not contain null
+     * @param from index of the first item in src
+     * @param len number of items to add
+     * @throws NullPointerException if any of the items is null, nothing is added
+     */
+    public void enqueueAll(Object[] src, int from, int len) {
+        Objects.checkFromIndexSize(from, len, src.length);
+        if(len > DEFAULT_CAPACITY - size) {
+            if(Metrics.ENABLED)
+                Metrics.QUEUE_A.full(DEFAULT_CAPACITY);
+            throw new IllegalStateException("Reached queue max capacity");
+        }
+        for(int i = from; i < from + len; i++) {
+            if(src[i] == null) // a null would look like an empty slot, check before anything is copied
+                throw new NullPointerException("Null values are not supported");
+        }
+        int firstRun = Math.min(len, DEFAULT_CAPACITY - write); // write index to end of array
+        System.arraycopy(src, from, arr, write, firstRun);
+        System.arraycopy(src, from + firstRun, arr, 0, len - firstRun);
+        write = (write + len) % DEFAULT_CAPACITY;
+        size += len;
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_A.operations(len, size);
+    }
+
+    /**
+     * Add all items to the queue, one at a time. Items added before the queue became full, or before a null item, stay
+     * in the queue.
+     * @param values items to add, must not contain null
+     */
+    public void enqueueAll(Iterable<?> values) {
+        for(Object value : values) {
+            if(value == null)
+                throw new NullPointerException("Null values are not supported");
+            enqueue(value);
+        }
+    }
+
+    /**
+     * Removes up to maxElements items from the queue and passes them to the consumer, least-recently added first.
+     * @param consumer receives each item
+     * @param maxElements maximum number of items to remove
+     * @return number of items removed
+     */
+    public int drainTo(Consumer<Object> consumer, int maxElements) {
+        int count = Math.min(size, Math.max(maxElements, 0));
+        for(int i = 0; i < count; i++) {
+            Object value = arr[read];
+            arr[read] = null;
+            if(++read >= DEFAULT_CAPACITY)
+                read = 0;
+            size--;
+            consumer.accept(value);
+        }
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_A.operations(count);
+        return count;
+    }
+
+    /**
+     * Removes as many items as fit into dst, least-recently added first, using at most two bulk copies.
+     * @param dst array to copy the items into, starting at index 0
+     * @return number of items removed
+     */
+    public int drainTo(Object[] dst) {
+        int count = Math.min(size, dst.length);
+        int firstRun = Math.min(count, DEFAULT_CAPACITY - read); // read index to end of array
+        System.arraycopy(arr, read, dst, 0, firstRun);
+        System.arraycopy(arr, 0, dst, firstRun, count - firstRun);
+        Arrays.fill(arr, read, read + firstRun, null);
+        Arrays.fill(arr, 0, count - firstRun, null);
+        read = (read + count) % DEFAULT_CAPACITY;
+        size -= count;
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_A.operations(count);
+        return count;
+    }
+
     /**
      * Check if queue contains any items
      * @return true if the queue is empty, false otherwise
@@ -1,14 +1,26 @@
 package com.thenullproject.datastructures;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * A queue implementation using a linked list with a tail pointer. A lot of the code here is very similar to the {@link LinkedList} implementation.
+ *
+ * In pooled mode dequeued nodes are kept on a bounded free-list (linked through their next pointers) and reused by the
+ * next enqueues, so a queue that stays around the same size stops allocating nodes. Pooling is opt-in because the
+ * spare nodes stay reachable for as long as the queue does.
+ *
+ * Enqueues and dequeues are recorded in {@link Metrics} when it is enabled. The queue doesn't track its size, so it has
+ * no high-water mark.
  */
 public class QueueLL<T> {
 
+    private final int poolCapacity;
     private ListNode<T> head;
     private ListNode<T> tail;
+    private ListNode<T> pool; // released nodes, values cleared
+    private int pooled;
 
     private static class ListNode<T> {
 
@@ -40,18 +52,33 @@ public class QueueLL<T> {
 
     }
 
+    public QueueLL() {
+        this(0);
+    }
+
+    /**
+     * @param poolCapacity maximum number of dequeued nodes to keep for reuse, 0 disables pooling
+     */
+    public QueueLL(int poolCapacity) {
+        if(poolCapacity < 0)
+            throw new IllegalArgumentException("Pool capacity cannot be less than zero.");
+        this.poolCapacity = poolCapacity;
+    }
+
     /**
      * Add item to the queue. O(1) operation with TAIL pointer.
      * @param value value to assign to node
      */
     public void enqueue(T value) {
-        var temp = new ListNode<>(value);
+        var temp = newNode(value);
         if(tail == null) // set head and tail
             head = tail = temp;
         else {
             tail.next = temp;
             tail = temp;
         }
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_LL.operation();
     }
 
     /**
@@ -59,12 +86,99 @@ public class QueueLL<T> {
      * @return the least-recently added item in the queue
      */
     public T dequeue() {
-        if(head == null)
+        if(head == null) {
+            if(Metrics.ENABLED)
+                Metrics.QUEUE_LL.empty();
             throw new NoSuchElementException("Cannot dequeue from empty queue");
+        }
         var temp = head;
         if((head = head.next) == null)
             tail = null;
-        return temp.value;
+        T value = temp.value;
+        release(temp);
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_LL.operation();
+        return value;
+    }
+
+    /**
+     * Add len items from src, starting at index from, to the queue. The new nodes are linked together first, then
+     * attached to the tail in one step.
+     * @param src items to add
+     * @param from index of the first item in src
+     * @param len number of items to add
+     */
+    public void enqueueAll(T[] src, int from, int len) {
+        Objects.checkFromIndexSize(from, len, src.length);
+        if(len == 0)
+            return;
+        var first = newNode(src[from]);
+        var last = first;
+        for(int i = from + 1; i < from + len; i++)
+            last = last.next = newNode(src[i]);
+        append(first, last, len);
+    }
+
+    /**
+     * Add all items to the queue. The new nodes are linked together first, then attached to the tail in one step.
+     * @param values items to add
+     */
+    public void enqueueAll(Iterable<? extends T> values) {
+        ListNode<T> first = null;
+        ListNode<T> last = null;
+        int count = 0;
+        for(T value : values) {
+            var temp = newNode(value);
+            if(last == null)
+                first = last = temp;
+            else
+                last = last.next = temp;
+            count++;
+        }
+        if(first != null)
+            append(first, last, count);
+    }
+
+    /**
+     * Removes up to maxElements items from the queue and passes them to the consumer, least-recently added first.
+     * @param consumer receives each item
+     * @param maxElements maximum number of items to remove
+     * @return number of items removed
+     */
+    public int drainTo(Consumer<? super T> consumer, int maxElements) {
+        int count = 0;
+        while(head != null && count < maxElements) {
+            var temp = head;
+            if((head = head.next) == null)
+                tail = null;
+            T value = temp.value;
+            release(temp);
+            count++;
+            consumer.accept(value);
+        }
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_LL.operations(count);
+        return count;
+    }
+
+    /**
+     * Removes as many items as fit into dst, least-recently added first.
+     * @param dst array to copy the items into, starting at index 0
+     * @return number of items removed
+     */
+    public int drainTo(Object[] dst) {
+        int count = 0;
+        while(head != null && count < dst.length) {
+            var temp = head;
+            dst[count++] = temp.value;
+            head = temp.next;
+            release(temp);
+        }
+        if(head == null)
+            tail = null;
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_LL.operations(count);
+        return count;
     }
 
     /**
@@ -74,4 +188,40 @@ public class QueueLL<T> {
     public boolean empty() {
         return head == null;
     }
+
+    int pooled() { // for tests
+        return pooled;
+    }
+
+    // private methods
+
+    private ListNode<T> newNode(T value) {
+        ListNode<T> node = pool;
+        if(node == null)
+            return new ListNode<>(value);
+        pool = node.next;
+        pooled--;
+        node.value = value;
+        node.next = null;
+        return node;
+    }
+
+    private void release(ListNode<T> node) {
+        if(pooled == poolCapacity)
+            return; // pool is full (or disabled), leave the node to the garbage collector
+        node.value = null;
+        node.next = pool;
+        pool = node;
+        pooled++;
+    }
+
+    private void append(ListNode<T> first, ListNode<T> last, int count) { // count nodes linked from first to last
+        if(tail == null) // set head and tail
+            head = first;
+        else
+            tail.next = first;
+        tail = last;
+        if(Metrics.ENABLED)
+            Metrics.QUEUE_LL.operations(count);
+    }
 }
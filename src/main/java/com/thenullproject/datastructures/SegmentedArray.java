@@ -0,0 +1,126 @@
+package com.thenullproject.datastructures;
+
+/**
+ * A dynamic array that grows by adding fixed size segments instead of copying its values into a larger array.
+ *
+ * {@link Array} doubles its backing array when full, so a single push can copy every value and briefly needs room for
+ * both arrays, which on large arrays is a long pause. Here the values are kept in segments of segmentSize values (a
+ * power of two) that are never copied or moved. The segments are found through a two-level directory: a fixed top
+ * level, allocated with the array, holds blocks of segment references that are allocated when first needed. Both
+ * levels are sized so together they reach every int index, so the directory never has to be copied either. A push
+ * does at most one segment and one block allocation, both of a fixed size, so no push costs more than a bounded
+ * amount of work however large the array is.
+ *
+ * The block, segment and offset of index i all come from shifts and masks of i, so get and set cost two extra array
+ * loads compared to {@link Array}.
+ *
+ * Popping the last value of a segment releases the segment after it, so at most one empty segment is kept as a spare
+ * and pushes and pops around a segment boundary don't allocate a segment each time. Blocks are small and are kept.
+ */
+public class SegmentedArray<T> {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 1024;
+    private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    private final int shift; // log2(segmentSize)
+    private final int mask;
+    private final int blockShift; // log2 of the number of segments in a block
+    private final int blockMask;
+    private final Object[][][] blocks;
+    private int allocated; // number of non-null segments
+    private int size;
+
+    public SegmentedArray() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize number of values in a segment, rounded up to the next power of two
+     */
+    public SegmentedArray(int segmentSize) {
+        if(segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE)
+            throw new IllegalArgumentException("Segment size must be between 1 and " + MAX_SEGMENT_SIZE);
+        int length = 1 << (32 - Integer.numberOfLeadingZeros(segmentSize - 1));
+        shift = Integer.numberOfTrailingZeros(length);
+        mask = length - 1;
+        int segmentBits = 31 - shift; // bits of a segment number
+        blockShift = (segmentBits + 1) / 2; // split between the two levels, so neither is large
+        blockMask = (1 << blockShift) - 1;
+        blocks = new Object[1 << (segmentBits - blockShift)][][];
+        allocated = size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        checkIndexWithinBounds(i);
+        return (T) segment(i >>> shift)[i & mask];
+    }
+
+    public void set(int i, T value) {
+        checkIndexWithinBounds(i);
+        segment(i >>> shift)[i & mask] = value;
+    }
+
+    /**
+     * Push value to the end of the array. O(1) operation, existing values and the directory are never copied, at most
+     * one segment and one block of the directory are allocated.
+     * @param value value to push
+     */
+    public void push(T value) {
+        if(size == Integer.MAX_VALUE)
+            throw new OutOfMemoryError("Required array size too large");
+        int segment = size >>> shift;
+        Object[][] block = blocks[segment >>> blockShift];
+        if(block == null)
+            block = blocks[segment >>> blockShift] = new Object[blockMask + 1][];
+        Object[] values = block[segment & blockMask];
+        if(values == null) {
+            values = block[segment & blockMask] = new Object[mask + 1];
+            allocated++;
+        }
+        values[size & mask] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        if(size == 0)
+            throw new IndexOutOfBoundsException("Cannot pop off empty list");
+        size--;
+        int segment = size >>> shift;
+        Object[] values = segment(segment);
+        T value = (T) values[size & mask];
+        values[size & mask] = null;
+        int next = segment + 1;
+        if((size & mask) == 0 && (next >>> blockShift) < blocks.length) {
+            Object[][] block = blocks[next >>> blockShift];
+            if(block != null && block[next & blockMask] != null) {
+                block[next & blockMask] = null; // this segment is now the spare, release the previous one
+                allocated--;
+            }
+        }
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of values the allocated segments can hold
+     */
+    public long capacity() {
+        return (long) allocated << shift;
+    }
+
+    // private methods
+
+    private Object[] segment(int segment) { // only for segments that hold values
+        return blocks[segment >>> blockShift][segment & blockMask];
+    }
+
+    private void checkIndexWithinBounds(int i) {
+        if(i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("Provided index is out of bounds");
+    }
+}
@@ -0,0 +1,227 @@
+package com.thenullproject.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A lock-free circular queue for exactly one producer thread and one consumer thread, based on the read/write index
+ * design of {@link QueueA}.
+ *
+ * Instead of wrapping the read and write indexes around the array, they only ever increase, and the slot is found by
+ * masking the index with capacity - 1 (capacity is always a power of two). The queue is full when the write index is
+ * capacity ahead of the read index, and empty when they are equal, so no size variable has to be shared between threads.
+ *
+ * Thread safety comes from ordering alone:
+ *  - The producer writes the slot, then publishes the new write index with a release store. The consumer reads the
+ *    write index with an acquire load, so it is guaranteed to see the slot contents.
+ *  - The consumer clears the slot, then publishes the new read index the same way, so the producer never overwrites a
+ *    slot that is still being read.
+ *
+ * Each side also keeps a cached copy of the other side's index and only re-reads the shared one when the cached value
+ * says the queue is full (producer) or empty (consumer), which keeps cache line traffic between the cores low. The
+ * indexes are padded onto their own cache lines so the producer and consumer don't false share.
+ *
+ * Null values are not allowed, poll uses null to signal an empty queue.
+ */
+public class SpscQueueA<T> extends SpscQueueAPad2 {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Object[] arr;
+    private final int mask;
+
+    public SpscQueueA() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of items, rounded up to the next power of two
+     */
+    public SpscQueueA(int capacity) {
+        if(capacity <= 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        arr = new Object[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Add item to the queue. Must only be called from the producer thread. O(1) operation.
+     * @param value value to add
+     * @return true if the item was added, false if the queue is full
+     */
+    public boolean offer(T value) {
+        if(value == null)
+            throw new NullPointerException("Null values are not supported");
+        long write = producerIndex;
+        if(write - cachedConsumerIndex > mask) {
+            cachedConsumerIndex = (long) CONSUMER_INDEX.getAcquire(this);
+            if(write - cachedConsumerIndex > mask)
+                return false;
+        }
+        arr[(int) write & mask] = value;
+        PRODUCER_INDEX.setRelease(this, write + 1);
+        return true;
+    }
+
+    /**
+     * Removes and returns item from the queue. Must only be called from the consumer thread. O(1) operation.
+     * @return the least-recently added item in the queue, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long read = consumerIndex;
+        if(read >= cachedProducerIndex) {
+            cachedProducerIndex = (long) PRODUCER_INDEX.getAcquire(this);
+            if(read >= cachedProducerIndex)
+                return null;
+        }
+        int slot = (int) read & mask;
+        T value = (T) arr[slot];
+        arr[slot] = null;
+        CONSUMER_INDEX.setRelease(this, read + 1);
+        return value;
+    }
+
+    /**
+     * Add up to len items from src, starting at index from, to the queue. Must only be called from the producer thread.
+     * All the items are published together with a single update of the write index.
+     * @param src items to add, must not contain null
+     * @param from index of the first item in src
+     * @param len number of items to add
+     * @return number of items added, less than len if the queue became full
+     */
+    public int offerAll(T[] src, int from, int len) {
+        Objects.checkFromIndexSize(from, len, src.length);
+        long write = producerIndex;
+        long free = capacity() - (write - cachedConsumerIndex);
+        if(free < len) {
+            cachedConsumerIndex = (long) CONSUMER_INDEX.getAcquire(this);
+            free = capacity() - (write - cachedConsumerIndex);
+        }
+        int count = (int) Math.min(free, len);
+        for(int i = 0; i < count; i++) {
+            T value = src[from + i];
+            if(value == null) // nothing has been published yet, the written slots are simply reused
+                throw new NullPointerException("Null values are not supported");
+            arr[(int) (write + i) & mask] = value;
+        }
+        PRODUCER_INDEX.setRelease(this, write + count);
+        return count;
+    }
+
+    /**
+     * Removes up to maxElements items and passes them to the consumer, least-recently added first. Must only be called
+     * from the consumer thread. The whole batch is claimed from one read of the write index and released with a single
+     * update of the read index.
+     * @param consumer receives each item
+     * @param maxElements maximum number of items to remove
+     * @return number of items removed
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Consumer<? super T> consumer, int maxElements) {
+        long read = consumerIndex;
+        long available = cachedProducerIndex - read;
+        if(available < maxElements) {
+            cachedProducerIndex = (long) PRODUCER_INDEX.getAcquire(this);
+            available = cachedProducerIndex - read;
+        }
+        int count = (int) Math.max(0, Math.min(available, maxElements));
+        int drained = 0;
+        try {
+            while(drained < count) {
+                int slot = (int) (read + drained) & mask;
+                T value = (T) arr[slot];
+                arr[slot] = null;
+                drained++;
+                consumer.accept(value);
+            }
+        } finally {
+            CONSUMER_INDEX.setRelease(this, read + drained); // items after a throwing consumer stay in the queue
+        }
+        return count;
+    }
+
+    /**
+     * Number of items in the queue. Only a snapshot when called while the other thread is active.
+     * @return number of items in the queue
+     */
+    public int size() {
+        long read = (long) CONSUMER_INDEX.getAcquire(this);
+        long write = (long) PRODUCER_INDEX.getAcquire(this);
+        return (int) Math.max(0, Math.min(write - read, capacity()));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Check if queue contains any items
+     * @return true if the queue is empty, false otherwise
+     */
+    public boolean empty() {
+        return size() == 0;
+    }
+
+    /**
+     * Check if queue is at capacity
+     * @return true if the queue is full, false otherwise
+     */
+    public boolean full() {
+        return size() == capacity();
+    }
+}
+
+// padding and index fields, split across a class hierarchy because the JVM keeps superclass fields before subclass
+// fields, so each group of indexes ends up on its own cache line
+
+@SuppressWarnings("unused")
+abstract class SpscQueueAPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class SpscQueueAProducerFields extends SpscQueueAPad0 {
+
+    static final VarHandle PRODUCER_INDEX;
+
+    static {
+        try {
+            PRODUCER_INDEX = MethodHandles.lookup().findVarHandle(SpscQueueAProducerFields.class, "producerIndex", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long producerIndex; // written by the producer only
+    long cachedConsumerIndex; // producer's last view of the consumer index
+}
+
+@SuppressWarnings("unused")
+abstract class SpscQueueAPad1 extends SpscQueueAProducerFields {
+    long p16, p17, p18, p19, p20, p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31;
+}
+
+abstract class SpscQueueAConsumerFields extends SpscQueueAPad1 {
+
+    static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            CONSUMER_INDEX = MethodHandles.lookup().findVarHandle(SpscQueueAConsumerFields.class, "consumerIndex", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long consumerIndex; // written by the consumer only
+    long cachedProducerIndex; // consumer's last view of the producer index
+}
+
+@SuppressWarnings("unused")
+abstract class SpscQueueAPad2 extends SpscQueueAConsumerFields {
+    long p32, p33, p34, p35, p36, p37, p38, p39, p40, p41, p42, p43, p44, p45, p46, p47;
+}
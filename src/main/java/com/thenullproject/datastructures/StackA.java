@@ -0,0 +1,68 @@
+package com.thenullproject.datastructures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A stack implementation using a dynamic {@link Array}. The top of the stack is the end of the array, so push and pop
+ * never shift any items, and the array's doubling growth makes push amortised O(1). Popped slots are cleared by the
+ * array, so the stack doesn't keep references to items that have left it.
+ *
+ * See {@link IntStackA} for a stack of ints that doesn't box its items.
+ */
+public class StackA<T> {
+
+    private final Array arr;
+
+    public StackA() {
+        arr = new Array();
+    }
+
+    /**
+     * @param initialCapacity number of items the stack can hold before it first grows
+     */
+    public StackA(int initialCapacity) {
+        arr = new Array(initialCapacity);
+    }
+
+    /**
+     * Add item to the top of the stack. Amortised O(1) operation.
+     * @param value value to add
+     */
+    public void push(T value) {
+        arr.push(value);
+    }
+
+    /**
+     * Removes and returns the item at the top of the stack. O(1) operation.
+     * @return the most-recently added item in the stack
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        if(arr.size() == 0)
+            throw new NoSuchElementException("Cannot pop from empty stack");
+        return (T) arr.pop();
+    }
+
+    /**
+     * Returns the item at the top of the stack without removing it. O(1) operation.
+     * @return the most-recently added item in the stack
+     */
+    @SuppressWarnings("unchecked")
+    public T top() {
+        if(arr.size() == 0)
+            throw new NoSuchElementException("Cannot read top of empty stack");
+        return (T) arr.get(arr.size() - 1);
+    }
+
+    public int size() {
+        return arr.size();
+    }
+
+    /**
+     * Check if stack contains any items
+     * @return true if the stack is empty, false otherwise
+     */
+    public boolean empty() {
+        return arr.size() == 0;
+    }
+}
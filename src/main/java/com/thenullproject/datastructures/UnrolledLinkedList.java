@@ -0,0 +1,221 @@
+package com.thenullproject.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An unrolled linked list, a linked list where each node holds a small array of values instead of a single value. It
+ * has the same public API as {@link LinkedList}.
+ *
+ * Because a node stores up to NODE_CAPACITY values next to each other (32 references, a couple of cache lines), walking
+ * the list follows one pointer per node rather than one per value, and each value no longer pays for its own object
+ * header and next pointer. Finding the nth value skips over whole nodes using their counts, starting from whichever end
+ * of the list is closer.
+ *
+ * The list keeps these invariants:
+ *
+ * 1). Every node contains at least one value, empty nodes are unlinked straight away.
+ * 2). Inserting into a full node splits it in two, moving the upper half of its values into a new node after it.
+ * 3). When a removal leaves a node less than half full, it is merged with a neighbour if their values fit in one node.
+ * 4). The size value is always correct.
+ *
+ * Nodes are doubly linked, so both ends of the list can be pushed and popped in O(1).
+ */
+public class UnrolledLinkedList<T> {
+
+    private static final int NODE_CAPACITY = 32;
+
+    private ListNode<T> head;
+    private ListNode<T> tail;
+    private int size;
+
+    private static class ListNode<T> {
+
+        final Object[] values = new Object[NODE_CAPACITY];
+        int count;
+        ListNode<T> prev;
+        ListNode<T> next;
+
+        @SuppressWarnings("unchecked")
+        T valueAt(int offset) {
+            return (T) values[offset];
+        }
+    }
+
+    public UnrolledLinkedList() {
+        size = 0;
+    }
+
+    public void pushFront(T value) {
+        if(head == null || head.count == NODE_CAPACITY)
+            linkBefore(head); // start a new node rather than splitting a full one
+        insertInto(head, 0, value);
+    }
+
+    public T popFront() {
+        if(head == null)
+            throw new NoSuchElementException();
+        T value = head.valueAt(0);
+        removeFrom(head, 0);
+        return value;
+    }
+
+    public void pushBack(T value) {
+        if(tail == null || tail.count == NODE_CAPACITY)
+            linkAfter(tail);
+        insertInto(tail, tail.count, value);
+    }
+
+    public T popBack() {
+        if(tail == null)
+            throw new NoSuchElementException();
+        T value = tail.valueAt(tail.count - 1);
+        removeFrom(tail, tail.count - 1);
+        return value;
+    }
+
+    public void addAfter(int index, T value) {
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        insert(index + 1, value);
+    }
+
+    public void addBefore(int index, T value) {
+        if(index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+        insert(index, value);
+    }
+
+    public T valueAt(int index) {
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        if(index < size >> 1) {
+            ListNode<T> node = head;
+            while(index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            return node.valueAt(index);
+        } else {
+            ListNode<T> node = tail;
+            int fromBack = size - 1 - index;
+            while(fromBack >= node.count) {
+                fromBack -= node.count;
+                node = node.prev;
+            }
+            return node.valueAt(node.count - 1 - fromBack);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // private methods
+
+    private void insert(int index, T value) {
+        if(index == 0) {
+            pushFront(value);
+        } else if(index == size) {
+            pushBack(value);
+        } else {
+            // find the node holding the value currently at index, walking from the nearer end
+            if(index < size >> 1) {
+                ListNode<T> node = head;
+                while(index >= node.count) {
+                    index -= node.count;
+                    node = node.next;
+                }
+                insertInto(node, index, value);
+            } else {
+                ListNode<T> node = tail;
+                int fromBack = size - 1 - index;
+                while(fromBack >= node.count) {
+                    fromBack -= node.count;
+                    node = node.prev;
+                }
+                insertInto(node, node.count - 1 - fromBack, value);
+            }
+        }
+    }
+
+    private void insertInto(ListNode<T> node, int offset, T value) {
+        if(node.count == NODE_CAPACITY) { // split, moving the upper half into a new node
+            ListNode<T> upper = linkAfter(node);
+            int half = NODE_CAPACITY >> 1;
+            System.arraycopy(node.values, half, upper.values, 0, NODE_CAPACITY - half);
+            Arrays.fill(node.values, half, NODE_CAPACITY, null);
+            upper.count = NODE_CAPACITY - half;
+            node.count = half;
+            if(offset > half) {
+                node = upper;
+                offset -= half;
+            }
+        }
+        System.arraycopy(node.values, offset, node.values, offset + 1, node.count - offset);
+        node.values[offset] = value;
+        node.count++;
+        size++;
+    }
+
+    private void removeFrom(ListNode<T> node, int offset) {
+        System.arraycopy(node.values, offset + 1, node.values, offset, node.count - offset - 1);
+        node.values[--node.count] = null;
+        size--;
+        if(node.count == 0)
+            unlink(node);
+        else if(node.count < NODE_CAPACITY >> 1) {
+            if(node.next != null && node.count + node.next.count <= NODE_CAPACITY)
+                merge(node, node.next);
+            else if(node.prev != null && node.prev.count + node.count <= NODE_CAPACITY)
+                merge(node.prev, node);
+        }
+    }
+
+    private void merge(ListNode<T> into, ListNode<T> from) { // from must directly follow into
+        System.arraycopy(from.values, 0, into.values, into.count, from.count);
+        into.count += from.count;
+        unlink(from);
+    }
+
+    private ListNode<T> linkBefore(ListNode<T> node) {
+        ListNode<T> temp = new ListNode<>();
+        temp.next = node;
+        if(node == null) { // empty list
+            head = tail = temp;
+        } else {
+            temp.prev = node.prev;
+            if(node.prev == null)
+                head = temp;
+            else
+                node.prev.next = temp;
+            node.prev = temp;
+        }
+        return temp;
+    }
+
+    private ListNode<T> linkAfter(ListNode<T> node) {
+        if(node == null) // empty list
+            return linkBefore(null);
+        ListNode<T> temp = new ListNode<>();
+        temp.prev = node;
+        temp.next = node.next;
+        if(node.next == null)
+            tail = temp;
+        else
+            node.next.prev = temp;
+        node.next = temp;
+        return temp;
+    }
+
+    private void unlink(ListNode<T> node) {
+        if(node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+        if(node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+    }
+}
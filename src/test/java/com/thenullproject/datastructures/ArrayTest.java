@@ -5,6 +5,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ArrayTest {
@@ -38,6 +43,17 @@ class ArrayTest {
         assertThrows(IllegalArgumentException.class, () -> new Array(initialCapacity));
     }
 
+    @Test
+    @DisplayName("Should throw out of memory error, without allocating, past the largest power of two capacity")
+    public void shouldThrowOutOfMemoryErrorPastMaxCapacity() {
+        assertThrows(OutOfMemoryError.class, () -> new Array((1 << 30) + 1));
+
+        Array array = new Array();
+        assertThrows(OutOfMemoryError.class, () -> array.ensureCapacity((1 << 30) + 1));
+        assertThrows(OutOfMemoryError.class, () -> array.ensureCapacity(Integer.MAX_VALUE));
+        assertEquals(array.capacity(), 16);
+    }
+
     // Nested tests
     @Nested
     @DisplayName("When array exists")
@@ -115,5 +131,134 @@ class ArrayTest {
 
     }
 
+    @Test
+    @DisplayName("Push all should append values and grow to the next power of two once")
+    public void pushAll() {
+        Array array = new Array();
+        array.push("Item 0");
+
+        Object[] values = new Object[40];
+        for(int i = 0; i < 40; i++)
+            values[i] = "Item " + (i + 1);
+        array.pushAll(values);
+
+        assertEquals(41, array.size());
+        assertEquals(64, array.capacity());
+        assertEquals("Item 40", array.get(40));
+
+        // push an array onto itself
+        array.pushAll(array);
+        assertEquals(82, array.size());
+        assertEquals("Item 0", array.get(41));
+    }
+
+    @Test
+    @DisplayName("Insert and insert all should shift the following values up")
+    public void insert() {
+        Array array = new Array();
+        array.pushAll(new Object[]{"A", "D"});
+
+        array.insert(1, "C");
+        array.insertAll(1, new Object[]{"B1", "B2"});
+        array.insert(5, "E");
+        array.insert(0, "0");
+
+        assertEquals(7, array.size());
+        Object[] expected = {"0", "A", "B1", "B2", "C", "D", "E"};
+        for(int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], array.get(i));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> array.insert(8, "F"));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.insertAll(-1, new Object[0]));
+    }
+
+    @Test
+    @DisplayName("Remove range should shift the following values down")
+    public void removeRange() {
+        Array array = new Array();
+        for(int i = 0; i < 10; i++)
+            array.push(i);
+
+        array.removeRange(2, 5);
+        array.removeRange(0, 0);
+
+        assertEquals(7, array.size());
+        assertEquals(1, array.get(1));
+        assertEquals(5, array.get(2));
+        assertEquals(9, array.get(6));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> array.removeRange(5, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.removeRange(3, 2));
+    }
+
+    @Test
+    @DisplayName("Ensure capacity and trim to size should keep the capacity a power of two")
+    public void ensureCapacityAndTrimToSize() {
+        Array array = new Array();
+
+        array.ensureCapacity(100);
+        assertEquals(128, array.capacity());
+        array.ensureCapacity(10);
+        assertEquals(128, array.capacity());
+
+        for(int i = 0; i < 20; i++)
+            array.push(i);
+        array.trimToSize();
+        assertEquals(32, array.capacity());
+        assertEquals(19, array.get(19));
+
+        array.removeRange(0, 20);
+        array.trimToSize();
+        assertEquals(16, array.capacity());
+    }
+
+    @Nested
+    @DisplayName("When array is large enough to split")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WhenArrayIsLarge {
+        private static final int SIZE = 100_000;
+        private Array array;
+
+        @BeforeEach
+        public void initialiseArray() {
+            // SIZE - 1 down to 0
+            array = new Array();
+            for(int i = SIZE - 1; i >= 0; i--)
+                array.push((long) i);
+        }
+
+        @Test
+        @DisplayName("Stream and parallel stream should see every value in order")
+        public void streams() {
+            assertEquals(Spliterator.SIZED | Spliterator.SUBSIZED,
+                    array.spliterator().characteristics() & (Spliterator.SIZED | Spliterator.SUBSIZED));
+            assertEquals(SIZE, array.stream().count());
+            assertEquals(array.stream().collect(Collectors.toList()), array.parallelStream().collect(Collectors.toList()));
+        }
+
+        @Test
+        @DisplayName("Parallel for each and reduce should visit every value once")
+        public void forEachAndReduce() {
+            LongAdder sum = new LongAdder();
+            array.<Long>parallelForEach(sum::add);
 
-}
\ No newline at end of file
+            long expected = (long) SIZE * (SIZE - 1) / 2;
+            assertEquals(expected, sum.sum());
+            assertEquals(expected, array.parallelReduce(0L, Long::sum));
+            assertEquals(0L, new Array().parallelReduce(0L, Long::sum));
+        }
+
+        @Test
+        @DisplayName("Parallel sort and prefix should match their sequential results")
+        public void sortAndPrefix() {
+            array.parallelSort(Comparator.<Long>naturalOrder());
+            for(int i = 0; i < SIZE; i++)
+                assertEquals((long) i, array.get(i));
+
+            array.parallelPrefix(Long::sum);
+            assertEquals(0L, array.get(0));
+            assertEquals(3L, array.get(2));
+            assertEquals((long) SIZE * (SIZE - 1) / 2, array.get(SIZE - 1));
+        }
+    }
+}
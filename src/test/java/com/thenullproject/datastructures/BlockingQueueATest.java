@@ -0,0 +1,149 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the blocking circular queue, run with every wait strategy
+ */
+public class BlockingQueueATest {
+
+    @Test
+    @DisplayName("Should default to parking and reject null values")
+    public void shouldDefaultToParkingAndRejectNull() {
+        BlockingQueueA<String> queue = new BlockingQueueA<>();
+        assertEquals(BlockingQueueA.WaitStrategy.PARK, queue.strategy());
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @ParameterizedTest(name = "Strategy: {0}")
+    @DisplayName("Timed poll should return null and timed offer false once the timeout passes")
+    @EnumSource(BlockingQueueA.WaitStrategy.class)
+    public void shouldTimeOut(BlockingQueueA.WaitStrategy strategy) throws InterruptedException {
+        BlockingQueueA<Integer> queue = new BlockingQueueA<>(2, strategy);
+
+        long start = System.nanoTime();
+        assertNull(queue.poll(20, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertTrue(queue.offer(1, 20, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(2, 20, TimeUnit.MILLISECONDS));
+        start = System.nanoTime();
+        assertFalse(queue.offer(3, 20, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertEquals(1, queue.take());
+        assertEquals(2, queue.poll(0, TimeUnit.MILLISECONDS));
+        assertTrue(queue.empty());
+    }
+
+    @ParameterizedTest(name = "Strategy: {0}")
+    @DisplayName("Take should throw when the thread is interrupted, and clear the interrupt")
+    @EnumSource(BlockingQueueA.WaitStrategy.class)
+    public void shouldThrowWhenInterrupted(BlockingQueueA.WaitStrategy strategy) {
+        BlockingQueueA<Integer> queue = new BlockingQueueA<>(2, strategy);
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, queue::take);
+        assertFalse(Thread.interrupted());
+    }
+
+    @ParameterizedTest(name = "Strategy: {0}")
+    @DisplayName("Waiting take and put should be released by another thread")
+    @EnumSource(BlockingQueueA.WaitStrategy.class)
+    public void shouldReleaseWaitingThreads(BlockingQueueA.WaitStrategy strategy) throws InterruptedException {
+        BlockingQueueA<Integer> queue = new BlockingQueueA<>(2, strategy);
+        AtomicReference<Integer> taken = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(queue.take());
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(20); // give it time to start waiting
+        queue.put(42);
+        consumer.join(5_000);
+        assertFalse(consumer.isAlive());
+        assertEquals(42, taken.get());
+
+        queue.put(1);
+        queue.put(2);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(3);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(20);
+        assertEquals(1, queue.take());
+        producer.join(5_000);
+        assertFalse(producer.isAlive());
+        assertEquals(2, queue.take());
+        assertEquals(3, queue.take());
+    }
+
+    @ParameterizedTest(name = "Strategy: {0}")
+    @DisplayName("Every item put by concurrent producers should be taken exactly once")
+    @EnumSource(BlockingQueueA.WaitStrategy.class)
+    public void concurrentPutAndTake(BlockingQueueA.WaitStrategy strategy) throws InterruptedException {
+        int producerCount = 2;
+        int consumerCount = 2;
+        int itemsPerProducer = 500;
+        BlockingQueueA<Integer> queue = new BlockingQueueA<>(4, strategy); // small, so both sides have to wait
+        AtomicLong sum = new AtomicLong();
+        AtomicLong count = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int p = 0; p < producerCount; p++) {
+            int base = p * itemsPerProducer;
+            threads.add(new Thread(() -> {
+                try {
+                    for(int i = 1; i <= itemsPerProducer; i++)
+                        queue.put(base + i);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        int itemsPerConsumer = producerCount * itemsPerProducer / consumerCount;
+        for(int c = 0; c < consumerCount; c++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for(int i = 0; i < itemsPerConsumer; i++) {
+                        sum.addAndGet(queue.take());
+                        count.incrementAndGet();
+                    }
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for(Thread thread : threads)
+            thread.start();
+        for(Thread thread : threads)
+            thread.join(30_000);
+
+        long total = (long) producerCount * itemsPerProducer;
+        assertEquals(total, count.get());
+        assertEquals(total * (total + 1) / 2, sum.get());
+        assertTrue(queue.empty());
+    }
+}
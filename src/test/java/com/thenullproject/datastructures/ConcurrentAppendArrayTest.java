@@ -0,0 +1,145 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the concurrent append-only array
+ */
+public class ConcurrentAppendArrayTest {
+
+    @Test
+    @DisplayName("Should create new array that is empty")
+    public void shouldCreateNewEmptyArray() {
+        ConcurrentAppendArray<Integer> array = new ConcurrentAppendArray<>();
+        assertTrue(array.empty());
+        assertEquals(0, array.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(-1));
+        assertThrows(NullPointerException.class, () -> array.push(null));
+    }
+
+    @Test
+    @DisplayName("Should push values to consecutive indexes across segment boundaries")
+    public void shouldPushAcrossSegments() {
+        ConcurrentAppendArray<Integer> array = new ConcurrentAppendArray<>();
+        for(int i = 0; i < 100_000; i++)
+            assertEquals(i, array.push(i));
+
+        assertEquals(100_000, array.size());
+        for(int i = 0; i < 100_000; i++)
+            assertEquals(i, array.get(i));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(100_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should push a batch to consecutive indexes, or nothing if it contains null")
+    public void shouldPushAll() {
+        ConcurrentAppendArray<Integer> array = new ConcurrentAppendArray<>();
+        array.push(-1);
+        Integer[] values = new Integer[200];
+        for(int i = 0; i < values.length; i++)
+            values[i] = i;
+
+        assertEquals(1, array.pushAll(values, 10, 100));
+        assertEquals(101, array.size());
+        for(int i = 0; i < 100; i++)
+            assertEquals(i + 10, array.get(i + 1));
+
+        values[50] = null;
+        assertThrows(NullPointerException.class, () -> array.pushAll(values, 0, 100));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.pushAll(values, 150, 100));
+        assertEquals(101, array.size());
+    }
+
+    @Test
+    @DisplayName("Iterator should be a snapshot of the values published when it was created")
+    public void iteratorShouldBeSnapshot() {
+        ConcurrentAppendArray<Integer> array = new ConcurrentAppendArray<>();
+        for(int i = 0; i < 50; i++)
+            array.push(i);
+
+        Iterator<Integer> iterator = array.iterator();
+        array.push(50);
+        List<Integer> seen = new ArrayList<>();
+        iterator.forEachRemaining(seen::add);
+        assertEquals(50, seen.size());
+        for(int i = 0; i < 50; i++)
+            assertEquals(i, seen.get(i));
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+
+        int count = 0;
+        for(Integer value : array)
+            assertEquals(count++, value);
+        assertEquals(51, count);
+    }
+
+    @Test
+    @DisplayName("Every value pushed by concurrent threads should be readable at the index its push returned")
+    public void concurrentPushes() throws InterruptedException {
+        int threadCount = 4;
+        int pushesPerThread = 20_000;
+        ConcurrentAppendArray<Integer> array = new ConcurrentAppendArray<>();
+        int[][] indexes = new int[threadCount][pushesPerThread];
+        AtomicBoolean readerFailed = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int t = 0; t < threadCount; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for(int i = 0; i < pushesPerThread; i++) {
+                    indexes[thread][i] = array.push(thread * pushesPerThread + i);
+                    if(i % 1000 == 0)
+                        Thread.yield();
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> { // the published prefix only grows and is always readable
+            int last = 0;
+            while(!done.get()) {
+                int size = array.size();
+                try {
+                    if(size < last || (size > 0 && array.get(size - 1) == null))
+                        readerFailed.set(true);
+                } catch(IndexOutOfBoundsException e) {
+                    readerFailed.set(true);
+                }
+                last = size;
+                Thread.yield();
+            }
+        });
+        reader.start();
+        for(Thread thread : threads)
+            thread.start();
+        for(Thread thread : threads)
+            thread.join();
+        done.set(true);
+        reader.join();
+
+        assertFalse(readerFailed.get());
+        int total = threadCount * pushesPerThread;
+        assertEquals(total, array.size());
+        boolean[] seen = new boolean[total];
+        for(int t = 0; t < threadCount; t++) {
+            for(int i = 0; i < pushesPerThread; i++) {
+                assertEquals(t * pushesPerThread + i, array.get(indexes[t][i]));
+                assertFalse(seen[indexes[t][i]]);
+                seen[indexes[t][i]] = true;
+            }
+        }
+    }
+}
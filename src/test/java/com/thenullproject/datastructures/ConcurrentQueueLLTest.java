@@ -0,0 +1,83 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the lock-free linked queue
+ */
+public class ConcurrentQueueLLTest {
+
+    @Test
+    @DisplayName("Should create new queue that is empty")
+    public void shouldCreateNewEmptyQueue() {
+        ConcurrentQueueLL<String> queue = new ConcurrentQueueLL<>();
+        assertTrue(queue.empty());
+        assertNull(queue.poll());
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+        assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+    }
+
+    @Test
+    @DisplayName("Dequeue items should return correct items in order, result in empty queue")
+    public void enqueueAndDequeueInOrder() {
+        ConcurrentQueueLL<Integer> queue = new ConcurrentQueueLL<>();
+
+        queue.enqueue(100);
+        queue.enqueue(200);
+        queue.enqueue(300);
+        assertFalse(queue.empty());
+
+        assertEquals(100, queue.dequeue());
+        assertEquals(200, queue.poll());
+        assertEquals(300, queue.dequeue());
+        assertTrue(queue.empty());
+    }
+
+    @Test
+    @DisplayName("Every item enqueued by several producers should be dequeued exactly once by several consumers")
+    public void multipleProducersAndConsumers() throws InterruptedException {
+        ConcurrentQueueLL<Integer> queue = new ConcurrentQueueLL<>();
+        int threads = 4;
+        int perProducer = 20_000;
+        AtomicLong sum = new AtomicLong();
+        AtomicLong polled = new AtomicLong();
+
+        List<Thread> workers = new ArrayList<>();
+        for(int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for(int i = 1; i <= perProducer; i++)
+                    queue.enqueue(i);
+            }));
+            workers.add(new Thread(() -> {
+                while(polled.get() < (long) threads * perProducer) {
+                    Integer value = queue.poll();
+                    if(value == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    sum.addAndGet(value);
+                    polled.incrementAndGet();
+                }
+            }));
+        }
+        for(Thread worker : workers)
+            worker.start();
+        for(Thread worker : workers)
+            worker.join();
+
+        assertEquals((long) threads * perProducer * (perProducer + 1) / 2, sum.get());
+        assertTrue(queue.empty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the lock-free linked stack
+ */
+public class ConcurrentStackLLTest {
+
+    @Test
+    @DisplayName("Should create new stack that is empty")
+    public void shouldCreateNewEmptyStack() {
+        ConcurrentStackLL<String> stack = new ConcurrentStackLL<>();
+        assertTrue(stack.empty());
+        assertNull(stack.poll());
+        assertThrows(NoSuchElementException.class, stack::pop);
+        assertThrows(NullPointerException.class, () -> stack.push(null));
+    }
+
+    @Test
+    @DisplayName("Pop items should return correct items in reverse order, result in empty stack")
+    public void pushAndPopInReverseOrder() {
+        ConcurrentStackLL<Integer> stack = new ConcurrentStackLL<>();
+
+        stack.push(100);
+        stack.push(200);
+        stack.push(300);
+        assertFalse(stack.empty());
+
+        assertEquals(300, stack.pop());
+        assertEquals(200, stack.poll());
+        assertEquals(100, stack.pop());
+        assertTrue(stack.empty());
+    }
+
+    @Test
+    @DisplayName("Every item pushed by several threads should be popped exactly once by several threads")
+    public void multiplePushersAndPoppers() throws InterruptedException {
+        ConcurrentStackLL<Integer> stack = new ConcurrentStackLL<>();
+        int threads = 4;
+        int perPusher = 20_000;
+        AtomicLong sum = new AtomicLong();
+        AtomicLong popped = new AtomicLong();
+
+        List<Thread> workers = new ArrayList<>();
+        for(int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for(int i = 1; i <= perPusher; i++)
+                    stack.push(i);
+            }));
+            workers.add(new Thread(() -> {
+                while(popped.get() < (long) threads * perPusher) {
+                    Integer value = stack.poll();
+                    if(value == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    sum.addAndGet(value);
+                    popped.incrementAndGet();
+                }
+            }));
+        }
+        for(Thread worker : workers)
+            worker.start();
+        for(Thread worker : workers)
+            worker.join();
+
+        assertEquals((long) threads * perPusher * (perPusher + 1) / 2, sum.get());
+        assertTrue(stack.empty());
+    }
+}
@@ -0,0 +1,181 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the d-ary min-heap, run with every supported arity
+ */
+public class DaryHeapTest {
+
+    @Test
+    @DisplayName("Should create new heap that is empty, and reject unsupported arities")
+    public void shouldCreateNewEmptyHeap() {
+        DaryHeap<String> heap = new DaryHeap<>();
+        assertTrue(heap.empty());
+        assertEquals(4, heap.arity());
+        assertEquals(16, heap.capacity());
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, heap::peekKey);
+        assertThrows(IllegalArgumentException.class, () -> new DaryHeap<>(3));
+        assertThrows(IllegalArgumentException.class, () -> new DaryHeap<>(4, 0));
+    }
+
+    @ParameterizedTest(name = "Arity: {0}")
+    @DisplayName("Should pop values in key order and grow like Array")
+    @ValueSource(ints = {2, 4, 8})
+    public void shouldPopInKeyOrder(int arity) {
+        DaryHeap<Long> heap = new DaryHeap<>(arity);
+        Random random = new Random(arity);
+        long[] keys = new long[10_000];
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(1000) - 500; // with duplicates and negatives
+            heap.insert(keys[i], keys[i]);
+        }
+        assertEquals(keys.length, heap.size());
+        assertEquals(16384, heap.capacity());
+
+        Arrays.sort(keys);
+        for(long key : keys) {
+            assertEquals(key, heap.peekKey());
+            assertEquals(key, heap.pop());
+        }
+        assertTrue(heap.empty());
+    }
+
+    @ParameterizedTest(name = "Arity: {0}")
+    @DisplayName("Should move values up with decreaseKey and remove them by handle")
+    @ValueSource(ints = {2, 4, 8})
+    public void shouldDecreaseKeyAndRemoveByHandle(int arity) {
+        DaryHeap<String> heap = new DaryHeap<>(arity);
+        int[] handles = new int[100];
+        for(int i = 0; i < 100; i++)
+            handles[i] = heap.insert(1000 + i, "v" + i);
+
+        heap.decreaseKey(handles[70], 5);
+        heap.decreaseKey(handles[30], 7);
+        assertEquals(5, heap.key(handles[70]));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(handles[30], 8));
+        assertEquals("v30", heap.remove(handles[30]));
+        assertFalse(heap.contains(handles[30]));
+        assertThrows(IllegalArgumentException.class, () -> heap.remove(handles[30]));
+        assertThrows(IllegalArgumentException.class, () -> heap.key(-1));
+
+        assertEquals("v70", heap.pop());
+        for(int i = 0; i < 100; i++) {
+            if(i != 30 && i != 70)
+                assertEquals("v" + i, heap.pop());
+        }
+        assertTrue(heap.empty());
+    }
+
+    @ParameterizedTest(name = "Arity: {0}")
+    @DisplayName("Should reuse freed handles without disturbing the values still in the heap")
+    @ValueSource(ints = {2, 4, 8})
+    public void shouldReuseHandles(int arity) {
+        DaryHeap<Integer> heap = new DaryHeap<>(arity);
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        List<Integer> live = new ArrayList<>();
+        Map<Integer, Integer> valuesByHandle = new HashMap<>();
+        Random random = new Random(42);
+
+        for(int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(4);
+            if(operation < 2 || live.isEmpty()) {
+                long key = random.nextInt(10_000);
+                int handle = heap.insert(key, step);
+                assertFalse(valuesByHandle.containsKey(handle));
+                live.add(handle);
+                valuesByHandle.put(handle, step);
+                expected.add(key);
+            } else if(operation == 2) {
+                int handle = live.remove(random.nextInt(live.size()));
+                long key = heap.key(handle);
+                assertEquals(valuesByHandle.remove(handle), heap.remove(handle));
+                expected.remove(key);
+            } else {
+                int handle = live.get(random.nextInt(live.size()));
+                long key = heap.key(handle);
+                long lower = key - random.nextInt(100);
+                heap.decreaseKey(handle, lower);
+                expected.remove(key);
+                expected.add(lower);
+            }
+            assertEquals(expected.size(), heap.size());
+            if(!expected.isEmpty())
+                assertEquals(expected.peek(), heap.peekKey());
+        }
+    }
+
+    @ParameterizedTest(name = "Arity: {0}")
+    @DisplayName("Heapify should build a heap where value i has handle i")
+    @ValueSource(ints = {2, 4, 8})
+    public void shouldHeapify(int arity) {
+        int count = 1000;
+        long[] keys = new long[count];
+        String[] values = new String[count];
+        Random random = new Random(arity);
+        for(int i = 0; i < count; i++) {
+            keys[i] = random.nextInt(100_000);
+            values[i] = "v" + i;
+        }
+        DaryHeap<String> heap = DaryHeap.heapify(arity, keys, values);
+        assertEquals(count, heap.size());
+        for(int i = 0; i < count; i++)
+            assertEquals(keys[i], heap.key(i));
+
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        long previous = Long.MIN_VALUE;
+        for(int i = 0; i < count; i++) {
+            assertEquals(sorted[i], heap.peekKey());
+            String value = heap.pop();
+            assertEquals(sorted[i], keys[Integer.parseInt(value.substring(1))]);
+            assertTrue(previous <= sorted[i]);
+            previous = sorted[i];
+        }
+
+        assertTrue(DaryHeap.heapify(arity, new long[0], new String[0]).empty());
+        assertThrows(IllegalArgumentException.class, () -> DaryHeap.heapify(arity, new long[1], new String[2]));
+    }
+
+    @Test
+    @DisplayName("Should drain values in key order in batches")
+    public void shouldDrainInBatches() {
+        DaryHeap<Integer> heap = new DaryHeap<>();
+        for(int i = 9; i >= 0; i--)
+            heap.insert(i, i);
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, heap.drainTo(drained::add, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+
+        long[] keys = new long[4];
+        Object[] values = new Object[4];
+        assertEquals(4, heap.drainTo(keys, values));
+        assertArrayEquals(new long[]{3, 4, 5, 6}, keys);
+        assertArrayEquals(new Object[]{3, 4, 5, 6}, values);
+
+        assertEquals(3, heap.drainTo(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 7, 8, 9), drained);
+        assertTrue(heap.empty());
+        assertEquals(0, heap.drainTo(keys, values));
+    }
+}
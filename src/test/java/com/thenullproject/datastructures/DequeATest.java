@@ -0,0 +1,102 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the growable circular deque
+ */
+public class DequeATest {
+
+    @Test
+    @DisplayName("Should create new deque that is empty")
+    public void shouldCreateNewEmptyDeque() {
+        DequeA<String> deque = new DequeA<>(5);
+        assertTrue(deque.empty());
+        assertEquals(8, deque.capacity());
+        assertNull(deque.peek());
+        assertNull(deque.peekLast());
+        assertNull(deque.pollFirst());
+        assertNull(deque.pollLast());
+    }
+
+    @ParameterizedTest(name = "Capacity: {0}")
+    @DisplayName("Should throw illegal argument exception if capacity is less than or equal to zero")
+    @ValueSource(ints = {-5, 0})
+    public void shouldThrowIllegalArgumentExceptionIfCapacityLessThanEqualToZero(int capacity) {
+        assertThrows(IllegalArgumentException.class, () -> new DequeA<>(capacity));
+    }
+
+    @Test
+    @DisplayName("Should reject null values")
+    public void shouldRejectNullValues() {
+        DequeA<String> deque = new DequeA<>();
+        assertThrows(NullPointerException.class, () -> deque.offerFirst(null));
+        assertThrows(NullPointerException.class, () -> deque.offerLast(null));
+    }
+
+    @Test
+    @DisplayName("Offer last and poll first should behave as a FIFO queue across many laps")
+    public void fifo() {
+        DequeA<Integer> deque = new DequeA<>(4);
+
+        for(int i = 0; i < 100; i++) {
+            deque.offerLast(i);
+            deque.offerLast(i + 1000);
+            assertEquals(i, deque.pollFirst());
+            assertEquals(i + 1000, deque.pollFirst());
+        }
+
+        assertTrue(deque.empty());
+        assertEquals(4, deque.capacity());
+    }
+
+    @Test
+    @DisplayName("Offer last and poll last should behave as a LIFO stack")
+    public void lifo() {
+        DequeA<Character> deque = new DequeA<>();
+
+        deque.offerLast('A');
+        deque.offerLast('B');
+        deque.offerLast('C');
+
+        assertEquals('C', deque.peekLast());
+        assertEquals('C', deque.pollLast());
+        assertEquals('B', deque.pollLast());
+        assertEquals('A', deque.pollLast());
+        assertTrue(deque.empty());
+    }
+
+    @Test
+    @DisplayName("Growing while wrapped around should keep items in order")
+    public void growWhileWrapped() {
+        DequeA<Integer> deque = new DequeA<>(4);
+
+        // head ends up in the middle of the array: [2, 3, 0, 1]
+        deque.offerLast(2);
+        deque.offerLast(3);
+        deque.offerFirst(1);
+        deque.offerFirst(0);
+
+        // grows 4 -> 8 -> 16
+        for(int i = 4; i < 10; i++)
+            deque.offerLast(i);
+        deque.offerFirst(-1);
+
+        assertEquals(11, deque.size());
+        assertEquals(16, deque.capacity());
+        assertEquals(-1, deque.peek());
+        assertEquals(9, deque.peekLast());
+        for(int i = -1; i < 10; i++)
+            assertEquals(i, deque.pollFirst());
+        assertFalse(deque.size() > 0);
+    }
+}
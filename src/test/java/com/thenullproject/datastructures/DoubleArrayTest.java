@@ -0,0 +1,101 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleArrayTest {
+
+    @ParameterizedTest(name = "Initial Capacity: {0}, Set Capacity: {1}")
+    @DisplayName("Should create array with correct capacity using initial capacity constructor")
+    @CsvSource({
+            "2, 16",
+            "33, 64",
+            "255, 256"
+    })
+    public void shouldCreateArrayWithCorrectInitialCapacity(int initialCapacity, int setCapacity) {
+        DoubleArray array = new DoubleArray(initialCapacity);
+        assertEquals(setCapacity, array.capacity());
+    }
+
+    @ParameterizedTest(name = "Initial Capacity: {0}")
+    @DisplayName("Should throw illegal argument exception if initial capacity is less than or equal to zero")
+    @ValueSource(ints = {-5, 0})
+    public void shouldThrowIllegalArgumentExceptionIfInitialCapacityLessThanEqualToZero(int initialCapacity) {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleArray(initialCapacity));
+    }
+
+    @Test
+    @DisplayName("Should throw index out of bounds exception when popping or reading an empty array")
+    public void shouldThrowIndexOutOfBoundsExceptionWhenEmpty() {
+        DoubleArray array = new DoubleArray();
+        assertThrows(IndexOutOfBoundsException.class, array::pop);
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(0));
+    }
+
+    // Nested tests
+    @Nested
+    @DisplayName("When array exists")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WhenArrayExists {
+        private DoubleArray array;
+
+        @BeforeAll
+        public void initialiseArray() {
+            // create array with initial capacity of 5
+            array = new DoubleArray(5);
+        }
+
+        @Test
+        @DisplayName("Push items should return correct capacity and size")
+        @Order(1)
+        public void push() {
+            // push 17 items
+            for(int i = 1; i <= 17; i++)
+                array.push((double) i * 0.5);
+
+            // check size and capacity
+            assertEquals(17, array.size());
+            assertEquals(32, array.capacity());
+        }
+
+        @Test
+        @DisplayName("Pop items should return correct capacity, size and value")
+        @Order(2)
+        public void pop() {
+            // pop 2 items
+            array.pop();
+            double item = array.pop();
+
+            // check value, size and capacity
+            assertEquals((double) 16 * 0.5, item);
+            assertEquals(15, array.size());
+            assertEquals(32, array.capacity());
+        }
+
+        @Test
+        @DisplayName("Get and set item should return and update correct item")
+        @Order(3)
+        public void getAndSet() {
+            assertEquals((double) 8 * 0.5, array.get(7));
+
+            array.set(7, 0.0);
+            assertEquals(0.0, array.get(7));
+        }
+
+        @Test
+        @DisplayName("Remove item should shift the following items down")
+        @Order(4)
+        public void remove() {
+            array.remove(0);
+
+            assertEquals(14, array.size());
+            assertEquals((double) 2 * 0.5, array.get(0));
+            assertEquals((double) 15 * 0.5, array.get(13));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Circular doubly linked list with sentinel tests
+ */
+public class DoublyLinkedListTest {
+
+    @ParameterizedTest(name = "Index: {0}")
+    @DisplayName("Value at should throw an IndexOutOfBoundsException for indexes less than 0 or greater than list size - 1.")
+    @ValueSource(ints = {-5, 3, 20})
+    public void valueAtShouldThrowIndexOutOfBoundsExceptionForInvalidIndexes(int index) {
+        DoublyLinkedList<Float> list = new DoublyLinkedList<>();
+
+        list.pushBack(3.14f);
+        list.pushBack(2.718f);
+        list.pushBack(1.618f);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.valueAt(index));
+    }
+
+    @Test
+    @DisplayName("Pop back and pop front should throw an NoSuchElementException for an empty list.")
+    public void popShouldThrowNoSuchElementExceptionWhenEmpty() {
+        DoublyLinkedList<Object> list = new DoublyLinkedList<>();
+
+        assertThrows(NoSuchElementException.class, list::popBack);
+        assertThrows(NoSuchElementException.class, list::popFront);
+    }
+
+    @Test
+    @DisplayName("Push and pop at both ends should return correct size and values in order.")
+    public void pushAndPop() {
+        DoublyLinkedList<String> list = new DoublyLinkedList<>();
+
+        list.pushBack("Number 3");
+        list.pushFront("Number 2");
+        list.pushFront("Number 1");
+        list.pushBack("Number 4");
+
+        assertEquals(4, list.size());
+        assertEquals("Number 4", list.popBack());
+        assertEquals("Number 1", list.popFront());
+        assertEquals(2, list.size());
+        assertEquals("Number 2", list.valueAt(0));
+        assertEquals("Number 3", list.valueAt(1));
+    }
+
+    @Test
+    @DisplayName("Add items before and after should return correct size and values in order.")
+    public void addBeforeAndAfter() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+
+        list.addBefore(0, 2);
+        list.addBefore(0, 0);
+        list.addAfter(0, 1);
+        list.addBefore(3, 4);
+        list.addBefore(3, 3);
+
+        assertEquals(5, list.size());
+        for(int i = 0; i < 5; i++)
+            assertEquals(i, list.valueAt(i));
+    }
+
+    @Test
+    @DisplayName("Cursor should insert and remove around its position and wrap at the end of the list.")
+    public void cursor() {
+        DoublyLinkedList<Character> list = new DoublyLinkedList<>();
+        list.pushBack('A');
+        list.pushBack('C');
+        list.pushBack('E');
+
+        DoublyLinkedList<Character>.ListCursor cursor = list.cursor(1);
+        assertEquals('C', cursor.value());
+        cursor.insertBefore('B');
+        cursor.insertAfter('D');
+        assertEquals('C', cursor.remove());
+        assertEquals('D', cursor.value());
+        cursor.set('d');
+
+        // move past the end, then wrap to the front
+        cursor.moveNext();
+        cursor.moveNext();
+        assertFalse(cursor.hasValue());
+        assertThrows(NoSuchElementException.class, cursor::value);
+        cursor.insertBefore('F'); // back of the list
+        cursor.moveNext();
+        assertEquals('A', cursor.value());
+
+        assertEquals(5, list.size());
+        char[] expected = {'A', 'B', 'd', 'E', 'F'};
+        for(int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], list.valueAt(i));
+    }
+
+    @Test
+    @DisplayName("Cursor should be invalidated when its value is removed outside the cursor.")
+    public void staleCursor() {
+        DoublyLinkedList<String> list = new DoublyLinkedList<>();
+        list.pushBack("Only");
+
+        DoublyLinkedList<String>.ListCursor cursor = list.cursor(0);
+        assertTrue(cursor.hasValue());
+        list.popBack();
+
+        assertThrows(IllegalStateException.class, cursor::hasValue);
+        assertThrows(IllegalStateException.class, () -> cursor.insertAfter("Other"));
+        assertEquals(0, list.size());
+    }
+}
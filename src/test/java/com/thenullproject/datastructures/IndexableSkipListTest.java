@@ -0,0 +1,100 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Indexable skip list tests
+ */
+public class IndexableSkipListTest {
+
+    @ParameterizedTest(name = "Index: {0}")
+    @DisplayName("Value at should throw an IndexOutOfBoundsException for indexes less than 0 or greater than list size - 1.")
+    @ValueSource(ints = {-5, 3, 20})
+    public void valueAtShouldThrowIndexOutOfBoundsExceptionForInvalidIndexes(int index) {
+        IndexableSkipList<Float> list = new IndexableSkipList<>();
+
+        list.pushBack(3.14f);
+        list.pushBack(2.718f);
+        list.pushBack(1.618f);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.valueAt(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(index));
+    }
+
+    @Test
+    @DisplayName("Pop back and pop front should throw an NoSuchElementException for an empty list.")
+    public void popShouldThrowNoSuchElementExceptionWhenEmpty() {
+        IndexableSkipList<Object> list = new IndexableSkipList<>();
+
+        assertThrows(NoSuchElementException.class, list::popBack);
+        assertThrows(NoSuchElementException.class, list::popFront);
+    }
+
+    @Test
+    @DisplayName("Add items before and after should return correct size and values in order.")
+    public void addBeforeAndAfter() {
+        IndexableSkipList<String> list = new IndexableSkipList<>();
+
+        list.pushBack("Item 1");
+        list.pushBack("Item 3");
+        list.addBefore(0, "Item .5");
+        list.addAfter(1, "Item 2");
+        list.addBefore(4, "Item 4");
+
+        assertEquals(5, list.size());
+        assertEquals("Item .5", list.valueAt(0));
+        assertEquals("Item 1", list.valueAt(1));
+        assertEquals("Item 2", list.valueAt(2));
+        assertEquals("Item 3", list.valueAt(3));
+        assertEquals("Item 4", list.valueAt(4));
+    }
+
+    @Test
+    @DisplayName("Random operations at both ends and in the middle should match a reference list.")
+    public void randomOperationsMatchReference() {
+        IndexableSkipList<Integer> list = new IndexableSkipList<>();
+        List<Integer> reference = new ArrayList<>();
+        Random random = new Random(13);
+
+        // grow for the first half, then mostly shrink so the list empties and levels are dropped
+        for(int step = 0; step < 50_000; step++) {
+            int operation = step < 25_000 ? random.nextInt(8) : 3 + random.nextInt(3);
+            if(reference.isEmpty() || operation == 0) {
+                list.pushFront(step);
+                reference.add(0, step);
+            } else if(operation == 1) {
+                list.pushBack(step);
+                reference.add(step);
+            } else if(operation == 2) {
+                int index = random.nextInt(reference.size() + 1);
+                list.addBefore(index, step);
+                reference.add(index, step);
+            } else if(operation == 3) {
+                assertEquals(reference.remove(0), list.popFront());
+            } else if(operation == 4) {
+                assertEquals(reference.remove(reference.size() - 1), list.popBack());
+            } else if(operation == 5) {
+                int index = random.nextInt(reference.size());
+                assertEquals(reference.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(reference.size());
+                assertEquals(reference.get(index), list.valueAt(index));
+            }
+            assertEquals(reference.size(), list.size());
+        }
+
+        for(int i = 0; i < reference.size(); i++)
+            assertEquals(reference.get(i), list.valueAt(i));
+    }
+}
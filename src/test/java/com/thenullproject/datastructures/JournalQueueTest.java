@@ -0,0 +1,176 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the memory-mapped journal queue
+ */
+public class JournalQueueTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should create new journal that is empty")
+    public void shouldCreateNewEmptyJournal() {
+        try(JournalQueue journal = new JournalQueue(directory, 1024)) {
+            assertTrue(journal.empty());
+            assertNull(journal.poll());
+            assertEquals(1024, journal.segmentSize());
+            assertThrows(IllegalArgumentException.class, () -> journal.append(new byte[1021], 0, 1021));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new JournalQueue(directory, 16));
+    }
+
+    @Test
+    @DisplayName("Poll should return records in order as read-only views")
+    public void appendAndPollInOrder() {
+        try(JournalQueue journal = new JournalQueue(directory, 1024)) {
+            journal.append(bytes("first"), 0, 5);
+            journal.append(ByteBuffer.wrap(bytes("second")));
+            journal.append(new byte[0], 0, 0);
+            assertFalse(journal.empty());
+
+            assertEquals("first", string(journal.poll()));
+            ByteBuffer second = journal.poll();
+            assertTrue(second.isReadOnly());
+            assertEquals("second", string(second));
+            assertEquals(0, journal.poll().remaining());
+            assertNull(journal.poll());
+            assertTrue(journal.empty());
+        }
+    }
+
+    @Test
+    @DisplayName("Append with a range outside the source array should throw and leave the journal unchanged")
+    public void appendOutOfBoundsLeavesJournalUnchanged() {
+        try(JournalQueue journal = new JournalQueue(directory, 64)) {
+            journal.append(new byte[20], 0, 20);
+            journal.poll();
+
+            // a 40 byte record doesn't fit after the first one, so it would pad out the segment
+            assertThrows(IndexOutOfBoundsException.class, () -> journal.append(new byte[10], 0, 40));
+            assertThrows(IndexOutOfBoundsException.class, () -> journal.append(new byte[10], -1, 4));
+            assertTrue(journal.empty());
+            assertNull(journal.poll());
+
+            journal.append(bytes("next"), 0, 4);
+            assertEquals("next", string(journal.poll()));
+        }
+    }
+
+    @Test
+    @DisplayName("Records should roll over to new segments, and segments that have been read should be deleted")
+    public void rollOverSegments() throws IOException {
+        Files.createFile(directory.resolve("notes.segment")); // not one of the journal's, should be left alone
+        try(JournalQueue journal = new JournalQueue(directory, 64)) {
+            for(int i = 0; i < 100; i++) // 4 byte length + 20 bytes, two records per 64 byte segment
+                journal.append(bytes(String.format("record %13d", i)), 0, 20);
+            assertEquals(51, segmentFiles());
+
+            List<String> records = new ArrayList<>();
+            assertEquals(60, journal.drainTo(record -> records.add(string(record)), 60));
+            assertEquals(22, segmentFiles());
+            assertEquals(40, journal.drainTo(record -> records.add(string(record)), 100));
+            for(int i = 0; i < 100; i++)
+                assertEquals(String.format("record %13d", i), records.get(i));
+            assertTrue(journal.empty());
+        }
+        assertTrue(Files.exists(directory.resolve("notes.segment")));
+    }
+
+    @Test
+    @DisplayName("Reopening the journal should continue from the saved read and write positions")
+    public void reopenContinuesFromSavedPositions() throws IOException {
+        try(JournalQueue journal = new JournalQueue(directory, 64)) {
+            for(int i = 0; i < 10; i++)
+                journal.append(bytes("before " + i), 0, 8);
+            for(int i = 0; i < 3; i++)
+                journal.poll();
+            journal.force();
+        }
+
+        try(JournalQueue journal = new JournalQueue(directory, 4096)) { // keeps the size it was created with
+            assertEquals(64, journal.segmentSize());
+            journal.append(bytes("after"), 0, 5);
+            for(int i = 3; i < 10; i++)
+                assertEquals("before " + i, string(journal.poll()));
+            assertEquals("after", string(journal.poll()));
+            assertTrue(journal.empty());
+        }
+
+        Files.write(directory.resolve("journal.header"), new byte[32]);
+        assertThrows(IllegalStateException.class, () -> new JournalQueue(directory));
+    }
+
+    @Test
+    @DisplayName("Reopening after the reader rolled to a new segment without saving should read the old segment again")
+    public void reopenAfterUnsavedReadRoll() throws IOException {
+        try(JournalQueue journal = new JournalQueue(directory, 64)) {
+            for(int i = 0; i < 6; i++) // two records per segment, three segments
+                journal.append(bytes(String.format("record %13d", i)), 0, 20);
+            assertEquals("record             0", string(journal.poll()));
+
+            // consumer fails on the first record of the second segment, before the read position is saved
+            assertThrows(IllegalStateException.class, () -> journal.drainTo(record -> {
+                if(string(record).endsWith(" 2"))
+                    throw new IllegalStateException("consumer failed");
+            }, 6));
+            assertEquals(3, segmentFiles());
+        }
+
+        try(JournalQueue journal = new JournalQueue(directory)) {
+            for(int i = 1; i < 3; i++)
+                assertEquals(String.format("record %13d", i), string(journal.poll()));
+            assertEquals(2, segmentFiles()); // first segment deleted once the saved position left it
+        }
+
+        try(JournalQueue journal = new JournalQueue(directory)) {
+            for(int i = 3; i < 6; i++)
+                assertEquals(String.format("record %13d", i), string(journal.poll()));
+            assertTrue(journal.empty());
+        }
+    }
+
+    @Test
+    @DisplayName("Closed journal should throw an IllegalStateException")
+    public void closedJournal() {
+        JournalQueue journal = new JournalQueue(directory, 1024);
+        journal.close();
+        assertThrows(IllegalStateException.class, journal::poll);
+        assertThrows(IllegalStateException.class, () -> journal.append(bytes("x"), 0, 1));
+    }
+
+    private long segmentFiles() throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".segment")).count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String string(ByteBuffer record) {
+        byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
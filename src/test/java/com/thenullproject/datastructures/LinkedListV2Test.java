@@ -0,0 +1,103 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Immutable linked list operation tests
+ */
+public class LinkedListV2Test {
+
+    private static final int LARGE = 1_000_000;
+
+    @Test
+    @DisplayName("Operations on an empty list should return empty lists.")
+    public void emptyList() {
+        LinkedListV2<Integer> list = LinkedListV2.empty();
+
+        assertEquals(0, list.size());
+        assertTrue(list.isEmpty());
+        assertTrue(list.reverse().isEmpty());
+        assertTrue(list.map(i -> i * 2).isEmpty());
+        assertTrue(list.filter(i -> true).isEmpty());
+        assertTrue(list.take(3).isEmpty());
+        assertTrue(list.drop(3).isEmpty());
+        assertEquals(0, list.toArray().length);
+        assertEquals(0, list.stream().count());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    @DisplayName("Node constructor should reject a size that doesn't match the rest of the list.")
+    public void nodeRejectsWrongSize() {
+        LinkedListV2.Node<String> node = new LinkedListV2.Node<>("b", null);
+
+        assertEquals(2, new LinkedListV2.Node<>("a", node).size());
+        assertThrows(IllegalArgumentException.class, () -> new LinkedListV2.Node<>("a", node, 5));
+    }
+
+    @Test
+    @DisplayName("Operations should return the expected values in order.")
+    public void operations() {
+        LinkedListV2<Integer> list = LinkedListV2.fromArray(1, 2, 3, 4, 5);
+
+        assertEquals(5, list.size());
+        assertEquals(3, list.get(2));
+        assertArrayEquals(new Object[]{5, 4, 3, 2, 1}, list.reverse().toArray());
+        assertArrayEquals(new Object[]{"1", "2", "3", "4", "5"}, list.map(String::valueOf).toArray());
+        assertArrayEquals(new Object[]{2, 4}, list.filter(i -> i % 2 == 0).toArray());
+        assertEquals(15, list.foldLeft(0, Integer::sum));
+        assertArrayEquals(new Object[]{1, 2, 3, 4, 5, 6, 7}, list.concat(LinkedListV2.fromArray(6, 7)).toArray());
+        assertArrayEquals(new Object[]{1, 2}, list.take(2).toArray());
+        assertArrayEquals(new Object[]{4, 5}, list.drop(3).toArray());
+        assertEquals(List.of(1, 2, 3, 4, 5), list.stream().collect(Collectors.toList()));
+        assertEquals("[1, 2, 3, 4, 5]", list.toString());
+        assertEquals(LinkedListV2.fromArray(1, 2, 3, 4, 5), list);
+        assertEquals(List.of(1, 2, 3, 4, 5).hashCode(), list.hashCode());
+    }
+
+    @Test
+    @DisplayName("Drop, concat and filter should share the tail of the list instead of copying it.")
+    public void operationsShareTails() {
+        LinkedListV2<Integer> list = LinkedListV2.fromArray(1, 2, 3, 4, 5, 6);
+        LinkedListV2<Integer> other = LinkedListV2.fromArray(7, 8);
+
+        assertSame(list.drop(2), list.drop(1).drop(1));
+        assertSame(other, list.concat(other).drop(6));
+        assertSame(list.drop(3), list.filter(i -> i != 3).drop(2)); // 4, 5, 6 after the removed 3
+        assertSame(list, list.filter(i -> true));
+        assertSame(list, list.take(10));
+    }
+
+    @Test
+    @DisplayName("Operations on a million element list should not overflow the stack.")
+    public void largeListOperations() {
+        Integer[] values = new Integer[LARGE];
+        for(int i = 0; i < LARGE; i++)
+            values[i] = i;
+        LinkedListV2<Integer> list = LinkedListV2.fromArray(values);
+
+        assertEquals(LARGE, list.size());
+        assertEquals(LARGE - 1, list.get(LARGE - 1));
+        assertEquals(LARGE - 1, list.reverse().get(0));
+        assertEquals(LARGE, list.map(i -> i + 1).get(LARGE - 1));
+        assertEquals(LARGE / 2, list.filter(i -> i % 2 == 0).size());
+        assertEquals((long) LARGE * (LARGE - 1) / 2, list.foldLeft(0L, (sum, i) -> sum + i));
+        assertEquals(2 * LARGE, list.concat(list).size());
+        assertEquals(10, list.take(10).size());
+        assertEquals(10, list.drop(LARGE - 10).size());
+        assertEquals(LARGE, list.toArray().length);
+        assertEquals((long) LARGE * (LARGE - 1) / 2, list.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(LinkedListV2.fromArray(values), list);
+        assertEquals(LinkedListV2.fromArray(values).hashCode(), list.hashCode());
+    }
+}
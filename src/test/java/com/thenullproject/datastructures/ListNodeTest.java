@@ -102,6 +102,30 @@ public class ListNodeTest {
         assertEquals(list.valueAt(2), "Number 3");
     }
 
+    @Test
+    @DisplayName("Pop back of the only item should return it and leave an empty list that can be reused.")
+    public void popBackLastItem() {
+        LinkedList<String> list = new LinkedList<>(1);
+
+        list.pushBack("Only Item");
+
+        // pop back
+        assertEquals(list.popBack(), "Only Item");
+
+        // check empty, node released to the pool
+        assertEquals(list.size(), 0);
+        assertEquals(list.pooled(), 1);
+        assertThrows(NoSuchElementException.class, list::popBack);
+        assertThrows(NoSuchElementException.class, list::popFront);
+
+        // check list can be used again ["Item 1", "Item 2"]
+        list.pushBack("Item 1");
+        list.pushBack("Item 2");
+        assertEquals(list.size(), 2);
+        assertEquals(list.valueAt(0), "Item 1");
+        assertEquals(list.valueAt(1), "Item 2");
+    }
+
     // == Front of list ==
 
     @Test
@@ -219,6 +243,42 @@ public class ListNodeTest {
         assertEquals(list.valueAt(4), "Item 3");
     }
 
+    @Test
+    @DisplayName("Value at should not overflow the stack for long lists.")
+    public void valueAtLongList() {
+        LinkedList<Integer> list = new LinkedList<>();
+
+        // add 1,000,000 items
+        for(int i = 0; i < 1_000_000; i++)
+            list.pushBack(i);
 
+        // check last value
+        assertEquals(list.valueAt(999_999), 999_999);
+    }
+
+    @Test
+    @DisplayName("Pooled list should reuse popped nodes and keep values in order.")
+    public void pooledList() {
+        LinkedList<Integer> list = new LinkedList<>(2);
 
+        for(int i = 0; i < 5; i++)
+            list.pushBack(i);
+        assertEquals(list.popFront(), 0);
+        assertEquals(list.popBack(), 4);
+        assertEquals(list.popFront(), 1);
+        assertEquals(list.pooled(), 2); // pool is bounded
+
+        list.pushFront(1);
+        list.addAfter(0, 10);
+        assertEquals(list.pooled(), 0);
+        list.pushBack(4);
+
+        // check values [1, 10, 2, 3, 4]
+        assertEquals(list.size(), 5);
+        assertEquals(list.valueAt(0), 1);
+        assertEquals(list.valueAt(1), 10);
+        assertEquals(list.valueAt(2), 2);
+        assertEquals(list.valueAt(3), 3);
+        assertEquals(list.valueAt(4), 4);
+    }
 }
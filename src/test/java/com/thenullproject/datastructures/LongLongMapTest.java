@@ -0,0 +1,130 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the open addressing long to long map
+ */
+public class LongLongMapTest {
+
+    private static final long MISSING = -1;
+
+    @Test
+    @DisplayName("Should return the missing value for keys that aren't mapped")
+    public void shouldReturnMissingValue() {
+        LongLongMap map = new LongLongMap(16, 0.5f, MISSING);
+        assertTrue(map.empty());
+        assertEquals(MISSING, map.missingValue());
+        assertEquals(MISSING, map.get(0));
+        assertEquals(MISSING, map.get(42));
+        assertEquals(MISSING, map.remove(42));
+        assertEquals(MISSING, map.put(42, MISSING)); // stored, but looks missing without containsKey
+        assertTrue(map.containsKey(42));
+        assertEquals(0, new LongLongMap().get(42));
+    }
+
+    @Test
+    @DisplayName("Should put, replace, get and remove values, including for key 0")
+    public void shouldPutGetAndRemove() {
+        LongLongMap map = new LongLongMap(16, 0.5f, MISSING);
+        assertEquals(MISSING, map.put(0, 10));
+        assertEquals(MISSING, map.put(Long.MAX_VALUE, 20));
+        assertEquals(10, map.put(0, 11));
+        assertEquals(2, map.size());
+
+        assertEquals(11, map.get(0));
+        assertEquals(20, map.get(Long.MAX_VALUE));
+        assertEquals(11, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.empty());
+        assertFalse(map.containsKey(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Increment should add to existing values and map missing keys to the delta")
+    public void shouldIncrement() {
+        LongLongMap map = new LongLongMap();
+        assertEquals(5, map.increment(7, 5));
+        assertEquals(8, map.increment(7, 3));
+        assertEquals(-2, map.increment(0, -2));
+        assertEquals(-4, map.increment(0, -2));
+        assertEquals(2, map.size());
+        assertEquals(8, map.get(7));
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap for random puts, increments and removes on a small, crowded table")
+    public void shouldMatchHashMap() {
+        LongLongMap map = new LongLongMap(16, 0.9f, MISSING);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(64) - 8;
+            switch(random.nextInt(3)) {
+                case 0 -> {
+                    Long previous = expected.put(key, (long) i);
+                    assertEquals(previous == null ? MISSING : previous, map.put(key, i));
+                }
+                case 1 -> assertEquals(expected.merge(key, 3L, Long::sum), map.increment(key, 3));
+                default -> {
+                    Long removed = expected.remove(key);
+                    assertEquals(removed == null ? MISSING : removed, map.remove(key));
+                }
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for(long key = -8; key < 56; key++)
+            assertEquals(expected.getOrDefault(key, MISSING), map.get(key));
+    }
+
+    @ParameterizedTest(name = "Stride: 1 << {0}")
+    @DisplayName("Should store and find keys that differ only in their high bits")
+    @ValueSource(ints = {40, 48})
+    public void shouldSpreadStridedKeys(int shift) {
+        LongLongMap map = new LongLongMap(16, 0.5f, MISSING);
+        for(long i = 1; i <= 50_000; i++)
+            map.put(i << shift, i);
+        assertEquals(50_000, map.size());
+
+        for(long i = 1; i <= 50_000; i++)
+            assertEquals(i, map.get(i << shift));
+        assertEquals(MISSING, map.get(50_001L << shift));
+    }
+
+    @Test
+    @DisplayName("Should grow as it fills and visit every mapping with forEach")
+    public void shouldGrowAndVisitEveryMapping() {
+        LongLongMap map = new LongLongMap();
+        for(long key = 0; key < 10_000; key++)
+            map.put(key * 31, key);
+        assertEquals(10_000, map.size());
+
+        long[] sums = new long[2];
+        map.forEach((key, value) -> {
+            assertEquals(key, value * 31);
+            sums[0] += value;
+            sums[1]++;
+        });
+        assertEquals(9_999L * 10_000 / 2, sums[0]);
+        assertEquals(10_000, sums[1]);
+
+        for(long key = 0; key < 10_000; key++)
+            assertEquals(key, map.remove(key * 31));
+        assertTrue(map.empty());
+    }
+}
@@ -0,0 +1,141 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the open addressing long to object map
+ */
+public class LongObjectMapTest {
+
+    @ParameterizedTest(name = "Initial Capacity: {0}, Table Length: {1}")
+    @DisplayName("Should size the table to a power of two that holds the initial capacity")
+    @CsvSource({
+            "1, 16",
+            "8, 16",
+            "9, 32",
+            "1000, 2048"
+    })
+    public void shouldSizeTable(int initialCapacity, int length) {
+        assertEquals(length, new LongObjectMap<>(initialCapacity, 0.5f).capacity());
+    }
+
+    @Test
+    @DisplayName("Should create new map that is empty, and reject invalid arguments")
+    public void shouldCreateNewEmptyMap() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertTrue(map.empty());
+        assertNull(map.get(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(0));
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectMap<>(0, 0.5f));
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectMap<>(16, 1f));
+    }
+
+    @Test
+    @DisplayName("Should put, replace, get and remove values, including for key 0 and negative keys")
+    public void shouldPutGetAndRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, "minus one"));
+        assertNull(map.put(Long.MIN_VALUE, "min"));
+        assertEquals("zero", map.put(0, "zero again"));
+        assertEquals(3, map.size());
+
+        assertEquals("zero again", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertTrue(map.containsKey(0));
+
+        assertEquals("zero again", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals("minus one", map.remove(-1));
+        assertNull(map.remove(-1));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.empty());
+        assertNull(map.get(Long.MIN_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap for random puts and removes on a small, crowded table")
+    public void shouldMatchHashMap() {
+        LongObjectMap<Long> map = new LongObjectMap<>(16, 0.9f); // long probe runs that wrap around the table
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(64) - 8; // includes 0 and negatives
+            if(random.nextBoolean())
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            else
+                assertEquals(expected.remove(key), map.remove(key));
+            assertEquals(expected.size(), map.size());
+        }
+        for(long key = -8; key < 56; key++)
+            assertEquals(expected.get(key), map.get(key));
+    }
+
+    @ParameterizedTest(name = "Stride: 1 << {0}")
+    @DisplayName("Should spread keys that differ only in their high bits, rather than chaining them in one probe run")
+    @ValueSource(ints = {16, 32, 40, 48, 56})
+    public void shouldSpreadStridedKeys(int shift) {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        int count = (int) Math.min(50_000, (1L << (64 - shift)) - 1); // i << shift must stay distinct and non-zero
+        for(long i = 1; i <= count; i++)
+            map.put(i << shift, i);
+        assertEquals(count, map.size());
+
+        for(long i = 1; i <= count; i++)
+            assertEquals(i, map.get(i << shift));
+        assertNull(map.get((count + 1L) << shift));
+    }
+
+    @Test
+    @DisplayName("Should not grow when keys are added and removed, since removals leave no tombstones")
+    public void shouldNotGrowWithoutTombstones() {
+        LongObjectMap<Integer> map = new LongObjectMap<>();
+        int capacity = map.capacity();
+        for(int i = 1; i < 100_000; i++) {
+            map.put(i, i);
+            if(i > 4)
+                assertEquals(i - 4, map.remove(i - 4));
+        }
+        assertEquals(4, map.size());
+        assertEquals(capacity, map.capacity());
+    }
+
+    @Test
+    @DisplayName("Should grow as it fills and visit every mapping with forEach")
+    public void shouldGrowAndVisitEveryMapping() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        for(long key = 0; key < 10_000; key++)
+            map.put(key * 31, key);
+        assertEquals(10_000, map.size());
+        assertEquals(32768, map.capacity());
+
+        long[] sums = new long[2];
+        map.forEach((key, value) -> {
+            assertEquals(key, value * 31);
+            sums[0] += key;
+            sums[1]++;
+        });
+        assertEquals(31L * 9_999 * 10_000 / 2, sums[0]);
+        assertEquals(10_000, sums[1]);
+    }
+}
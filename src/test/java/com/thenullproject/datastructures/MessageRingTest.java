@@ -0,0 +1,160 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the off-heap message ring buffer
+ */
+public class MessageRingTest {
+
+    @Test
+    @DisplayName("Should create new ring that is empty, with capacity rounded up to a power of two")
+    public void shouldCreateNewEmptyRing() {
+        MessageRing ring = new MessageRing(1000, MessageRing.ProducerMode.SINGLE);
+        assertTrue(ring.empty());
+        assertEquals(1024, ring.capacity());
+        assertEquals(504, ring.maxMessageLength());
+        assertEquals(0, ring.read((buffer, index, length) -> {}, 10));
+        assertThrows(IllegalArgumentException.class, () -> ring.claim(505));
+        assertThrows(IllegalArgumentException.class, () -> new MessageRing(0, MessageRing.ProducerMode.MULTI));
+    }
+
+    @ParameterizedTest(name = "Mode: {0}")
+    @DisplayName("Messages should be read in order, wrapping around the buffer with padding records")
+    @EnumSource(MessageRing.ProducerMode.class)
+    public void writeAndReadInOrder(MessageRing.ProducerMode mode) {
+        MessageRing ring = new MessageRing(128, mode);
+        List<String> read = new ArrayList<>();
+        int written = 0;
+
+        // messages of 13 to 27 bytes, records of 24 to 40 bytes, so the wrap point moves around every lap
+        for(int lap = 0; lap < 200; lap++) {
+            while(ring.write(bytes(message(written)), 0, message(written).length()))
+                written++;
+            assertEquals(1, ring.read((buffer, index, length) -> read.add(string(buffer, index, length)), 1));
+            ring.read((buffer, index, length) -> read.add(string(buffer, index, length)), 100);
+            assertTrue(ring.empty());
+        }
+
+        assertEquals(written, read.size());
+        for(int i = 0; i < written; i++)
+            assertEquals(message(i), read.get(i));
+    }
+
+    @Test
+    @DisplayName("Claimed messages should only be read once committed, aborted messages should be skipped")
+    public void claimCommitAndAbort() {
+        MessageRing ring = new MessageRing(256, MessageRing.ProducerMode.MULTI);
+        List<String> read = new ArrayList<>();
+
+        int first = ring.claim(5);
+        int second = ring.claim(6);
+        int third = ring.claim(5);
+        ring.buffer().put(first, bytes("first"));
+        ring.buffer().put(second, bytes("second"));
+        ring.buffer().put(third, bytes("third"));
+
+        ring.commit(second);
+        assertEquals(0, ring.read((buffer, index, length) -> read.add(string(buffer, index, length)), 10));
+        ring.commit(first);
+        ring.abort(third);
+        assertEquals(2, ring.read((buffer, index, length) -> read.add(string(buffer, index, length)), 10));
+        assertEquals(List.of("first", "second"), read);
+        assertTrue(ring.empty());
+        assertThrows(IllegalStateException.class, () -> ring.commit(first));
+
+        assertTrue(ring.write(ByteBuffer.wrap(bytes("fourth"))));
+        ring.read((buffer, index, length) -> read.add(string(buffer, index, length)), 10);
+        assertEquals("fourth", read.get(2));
+    }
+
+    @Test
+    @DisplayName("Write should fail when the ring doesn't have room, and succeed once the consumer has caught up")
+    public void fullRing() {
+        MessageRing ring = new MessageRing(64, MessageRing.ProducerMode.SINGLE);
+        byte[] payload = new byte[24]; // 32 byte records
+
+        assertTrue(ring.write(payload, 0, 24));
+        assertTrue(ring.write(payload, 0, 24));
+        assertFalse(ring.write(payload, 0, 24));
+        assertEquals(-1, ring.claim(0));
+        assertEquals(64, ring.size());
+
+        assertEquals(1, ring.read((buffer, index, length) -> assertEquals(24, length), 1));
+        assertTrue(ring.write(payload, 0, 24));
+    }
+
+    @Test
+    @DisplayName("Every message written by several producers should be read exactly once, in order per producer")
+    public void multipleProducers() throws InterruptedException {
+        MessageRing ring = new MessageRing(4096, MessageRing.ProducerMode.MULTI);
+        int producers = 4;
+        int perProducer = 20_000;
+        int[] next = new int[producers];
+        AtomicBoolean inOrder = new AtomicBoolean(true);
+
+        List<Thread> threads = new ArrayList<>();
+        for(int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                ByteBuffer message = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()); // same order as the ring
+                for(int i = 0; i < perProducer; i++) {
+                    message.clear();
+                    message.putInt(producer).putInt(i).flip();
+                    while(!ring.write(message))
+                        Thread.yield();
+                }
+            }));
+        }
+        for(Thread thread : threads)
+            thread.start();
+
+        int received = 0;
+        while(received < producers * perProducer) {
+            int count = ring.read((buffer, index, length) -> {
+                int producer = buffer.getInt(index);
+                if(buffer.getInt(index + 4) != next[producer]++)
+                    inOrder.set(false);
+            }, 100);
+            if(count == 0)
+                Thread.yield();
+            received += count;
+        }
+        for(Thread thread : threads)
+            thread.join();
+
+        assertTrue(inOrder.get());
+        for(int p = 0; p < producers; p++)
+            assertEquals(perProducer, next[p]);
+        assertTrue(ring.empty());
+    }
+
+    private static String message(int i) {
+        return "message " + "x".repeat(i % 15) + i % 10000;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String string(ByteBuffer buffer, int index, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(index, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
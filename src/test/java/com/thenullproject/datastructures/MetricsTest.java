@@ -0,0 +1,167 @@
+package com.thenullproject.datastructures;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the opt-in metrics layer. The gradle test task runs with metrics disabled and the metricsTest task runs
+ * this class again with them enabled, each test is skipped in the configuration it doesn't apply to.
+ */
+public class MetricsTest {
+
+    @BeforeEach
+    public void reset() {
+        Metrics.reset();
+    }
+
+    @Test
+    @DisplayName("Should count array operations, resizes, copies and the high-water mark")
+    public void shouldCountArrayMetrics() {
+        assumeTrue(Metrics.ENABLED, "metrics are disabled");
+        Array array = new Array();
+        for(int i = 0; i < 17; i++) // one past the initial capacity of 16
+            array.push(i);
+        for(int i = 0; i < 17; i++)
+            array.pop();
+        assertThrows(IndexOutOfBoundsException.class, array::pop);
+
+        assertEquals(new Metrics.Snapshot(34, 1, 16, 17, 0, 1), Metrics.snapshot().get("Array"));
+    }
+
+    @Test
+    @DisplayName("Should count full and empty rejections of the array queue")
+    public void shouldCountQueueARejections() {
+        assumeTrue(Metrics.ENABLED, "metrics are disabled");
+        QueueA queue = new QueueA();
+        for(int i = 0; i < 8; i++)
+            queue.enqueue(i);
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(8));
+        assertThrows(IllegalStateException.class, () -> queue.enqueueAll(new Object[]{8}, 0, 1));
+        for(int i = 0; i < 8; i++)
+            queue.dequeue();
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+
+        assertEquals(new Metrics.Snapshot(16, 0, 0, 8, 2, 1), Metrics.snapshot().get("QueueA"));
+    }
+
+    @Test
+    @DisplayName("Should count linked queue and linked list operations")
+    public void shouldCountLinkedMetrics() {
+        assumeTrue(Metrics.ENABLED, "metrics are disabled");
+        QueueLL<Integer> queue = new QueueLL<>();
+        LinkedList<Integer> list = new LinkedList<>();
+        for(int i = 0; i < 3; i++) {
+            queue.enqueue(i);
+            list.pushBack(i);
+        }
+        for(int i = 0; i < 3; i++) {
+            queue.dequeue();
+            list.popFront();
+        }
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+        assertThrows(NoSuchElementException.class, list::popFront);
+
+        assertEquals(new Metrics.Snapshot(6, 0, 0, 0, 0, 1), Metrics.snapshot().get("QueueLL"));
+        assertEquals(new Metrics.Snapshot(6, 0, 0, 3, 0, 1), Metrics.snapshot().get("LinkedList"));
+    }
+
+    @Test
+    @DisplayName("Batch operations should count one operation per value added or removed")
+    public void shouldCountBatchOperationsPerValue() {
+        assumeTrue(Metrics.ENABLED, "metrics are disabled");
+        Array array = new Array();
+        array.insertAll(0, new Object[5]);
+        array.pushAll(array);
+        array.removeRange(2, 8);
+
+        QueueA queueA = new QueueA();
+        queueA.enqueueAll(new Object[]{1, 2, 3}, 0, 3);
+        queueA.enqueueAll(List.of(4, 5));
+        assertEquals(2, queueA.drainTo(value -> {}, 2));
+        assertEquals(3, queueA.drainTo(new Object[10]));
+
+        QueueLL<Integer> queueLL = new QueueLL<>();
+        queueLL.enqueueAll(new Integer[]{1, 2, 3}, 0, 3);
+        queueLL.enqueueAll(List.of(4, 5));
+        assertEquals(1, queueLL.drainTo(value -> {}, 1));
+        assertEquals(4, queueLL.drainTo(new Object[10]));
+
+        assertEquals(new Metrics.Snapshot(16, 0, 0, 10, 0, 0), Metrics.snapshot().get("Array"));
+        assertEquals(new Metrics.Snapshot(10, 0, 0, 5, 0, 0), Metrics.snapshot().get("QueueA"));
+        assertEquals(new Metrics.Snapshot(10, 0, 0, 0, 0, 0), Metrics.snapshot().get("QueueLL"));
+    }
+
+    @Test
+    @DisplayName("Should set every counter back to zero on reset")
+    public void shouldResetCounters() {
+        assumeTrue(Metrics.ENABLED, "metrics are disabled");
+        Array array = new Array();
+        for(int i = 0; i < 100; i++)
+            array.push(i);
+        Metrics.reset();
+
+        assertEquals(new Metrics.Snapshot(0, 0, 0, 0, 0, 0), Metrics.snapshot().get("Array"));
+    }
+
+    @Test
+    @DisplayName("Should emit resize and queue full events to a JFR recording")
+    public void shouldEmitJfrEvents(@TempDir Path directory) throws IOException {
+        assumeTrue(Metrics.ENABLED, "metrics are disabled");
+        Path file = directory.resolve("metrics.jfr");
+        try(Recording recording = new Recording()) {
+            recording.enable("com.thenullproject.datastructures.Resize");
+            recording.enable("com.thenullproject.datastructures.QueueFull");
+            recording.start();
+            Array array = new Array();
+            for(int i = 0; i < 17; i++)
+                array.push(i);
+            QueueA queue = new QueueA();
+            for(int i = 0; i < 8; i++)
+                queue.enqueue(i);
+            assertThrows(IllegalStateException.class, () -> queue.enqueue(8));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size());
+        RecordedEvent resize = events.stream()
+                .filter(e -> e.getEventType().getName().endsWith("Resize")).findFirst().orElseThrow();
+        assertEquals("Array", resize.getString("structure"));
+        assertEquals(16, resize.getInt("oldCapacity"));
+        assertEquals(32, resize.getInt("newCapacity"));
+        RecordedEvent full = events.stream()
+                .filter(e -> e.getEventType().getName().endsWith("QueueFull")).findFirst().orElseThrow();
+        assertEquals("QueueA", full.getString("structure"));
+        assertEquals(8, full.getInt("capacity"));
+    }
+
+    @Test
+    @DisplayName("Should not record anything when metrics are disabled")
+    public void shouldNotRecordWhenDisabled() {
+        assumeFalse(Metrics.ENABLED, "metrics are enabled");
+        Array array = new Array();
+        for(int i = 0; i < 100; i++)
+            array.push(i);
+        QueueA queue = new QueueA();
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+
+        for(Metrics.Snapshot snapshot : Metrics.snapshot().values())
+            assertEquals(new Metrics.Snapshot(0, 0, 0, 0, 0, 0), snapshot);
+    }
+}
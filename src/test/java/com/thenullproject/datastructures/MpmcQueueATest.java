@@ -0,0 +1,99 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the multi-producer/multi-consumer queue
+ */
+public class MpmcQueueATest {
+
+    @ParameterizedTest(name = "Capacity: {0}, Set Capacity: {1}")
+    @DisplayName("Should round capacity up to a power of two of at least 2")
+    @CsvSource({
+            "1, 2",
+            "8, 8",
+            "9, 16"
+    })
+    public void shouldRoundCapacityUpToPowerOfTwo(int capacity, int setCapacity) {
+        assertEquals(setCapacity, new MpmcQueueA<>(capacity).capacity());
+    }
+
+    @Test
+    @DisplayName("Should create new queue that is empty and return null when polled")
+    public void shouldCreateNewEmptyQueue() {
+        MpmcQueueA<String> queue = new MpmcQueueA<>(4);
+        assertTrue(queue.empty());
+        assertFalse(queue.full());
+        assertNull(queue.poll());
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    @DisplayName("Offer should fail when full and items should come out in order across laps")
+    public void offerAndPollInOrder() {
+        MpmcQueueA<Integer> queue = new MpmcQueueA<>(4);
+
+        for(int lap = 0; lap < 3; lap++) {
+            for(int i = 0; i < 4; i++)
+                assertTrue(queue.offer(lap * 4 + i));
+            assertTrue(queue.full());
+            assertEquals(4, queue.size());
+            assertFalse(queue.offer(-1));
+
+            for(int i = 0; i < 4; i++)
+                assertEquals(lap * 4 + i, queue.poll());
+            assertTrue(queue.empty());
+        }
+    }
+
+    @Test
+    @DisplayName("Every item offered by several producers should be polled exactly once by several consumers")
+    public void multipleProducersAndConsumers() throws InterruptedException {
+        MpmcQueueA<Integer> queue = new MpmcQueueA<>(16);
+        int threads = 4;
+        int perProducer = 20_000;
+        AtomicLong sum = new AtomicLong();
+        AtomicLong polled = new AtomicLong();
+
+        List<Thread> workers = new ArrayList<>();
+        for(int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for(int i = 1; i <= perProducer; i++)
+                    while(!queue.offer(i))
+                        Thread.yield();
+            }));
+            workers.add(new Thread(() -> {
+                while(polled.get() < (long) threads * perProducer) {
+                    Integer value = queue.poll();
+                    if(value == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    sum.addAndGet(value);
+                    polled.incrementAndGet();
+                }
+            }));
+        }
+        for(Thread worker : workers)
+            worker.start();
+        for(Thread worker : workers)
+            worker.join();
+
+        assertEquals((long) threads * perProducer, polled.get());
+        assertEquals((long) threads * perProducer * (perProducer + 1) / 2, sum.get());
+        assertTrue(queue.empty());
+    }
+}
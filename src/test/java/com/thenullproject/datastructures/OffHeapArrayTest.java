@@ -0,0 +1,138 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapArrayTest {
+
+    record Trade(long id, double price, int quantity) {}
+
+    // id at 0, price at 8, quantity at 16, padded to 24 bytes to keep the longs and doubles aligned
+    static final OffHeapArray.Layout<Trade> TRADE = new OffHeapArray.Layout<>() {
+        @Override
+        public int byteSize() {
+            return 24;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Trade value) {
+            buffer.putLong(offset, value.id());
+            buffer.putDouble(offset + 8, value.price());
+            buffer.putInt(offset + 16, value.quantity());
+        }
+
+        @Override
+        public Trade read(ByteBuffer buffer, int offset) {
+            return new Trade(buffer.getLong(offset), buffer.getDouble(offset + 8), buffer.getInt(offset + 16));
+        }
+    };
+
+    @Test
+    @DisplayName("Should throw illegal argument exception if initial capacity is less than or equal to zero")
+    public void shouldThrowIllegalArgumentExceptionIfInitialCapacityLessThanEqualToZero() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapArray<>(TRADE, 0));
+    }
+
+    @Test
+    @DisplayName("Should throw illegal state exception when used after close")
+    public void shouldThrowIllegalStateExceptionAfterClose() {
+        OffHeapArray<Trade> array = new OffHeapArray<>(TRADE);
+        array.push(new Trade(1, 1.5, 10));
+        array.close();
+
+        assertThrows(IllegalStateException.class, () -> array.get(0));
+        assertThrows(IllegalStateException.class, () -> array.push(new Trade(2, 2.5, 20)));
+    }
+
+    @Test
+    @DisplayName("Records should be spread over chunks, growing a chunk at a time, and remove should shift across them")
+    public void shouldSpreadRecordsOverChunks() {
+        try(OffHeapArray<Trade> array = new OffHeapArray<>(TRADE, 1, 8 * 24)) { // 8 records per chunk
+            for(int i = 0; i < 100; i++)
+                array.push(new Trade(i, i * 0.25, i * 10));
+            assertEquals(104, array.capacity()); // 13 whole chunks
+            for(int i = 0; i < 100; i++)
+                assertEquals(new Trade(i, i * 0.25, i * 10), array.get(i));
+
+            array.setLong(60, 0, -60);
+            assertEquals(-60L, array.getLong(60, 0));
+
+            array.remove(5); // every later record moves down, crossing 12 chunk boundaries
+            assertEquals(99, array.size());
+            assertEquals(new Trade(6, 1.5, 60), array.get(5));
+            assertEquals(new Trade(8, 2, 80), array.get(7)); // carried over from the second chunk
+            assertEquals(-60L, array.getLong(59, 0));
+            assertEquals(new Trade(99, 24.75, 990), array.pop());
+            assertEquals(new Trade(98, 24.5, 980), array.get(97));
+        }
+    }
+
+    // Nested tests
+    @Nested
+    @DisplayName("When array exists")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WhenArrayExists {
+        private OffHeapArray<Trade> array;
+
+        @BeforeAll
+        public void initialiseArray() {
+            array = new OffHeapArray<>(TRADE, 5);
+        }
+
+        @AfterAll
+        public void closeArray() {
+            array.close();
+        }
+
+        @Test
+        @DisplayName("Push items should grow the array and keep every record")
+        @Order(1)
+        public void push() {
+            // push 100 items, forcing a few resizes
+            for(int i = 0; i < 100; i++)
+                array.push(new Trade(i, i * 0.25, i * 10));
+
+            assertEquals(100, array.size());
+            assertEquals(128, array.capacity());
+            assertEquals(new Trade(0, 0, 0), array.get(0));
+            assertEquals(new Trade(99, 24.75, 990), array.get(99));
+        }
+
+        @Test
+        @DisplayName("Pop item should return the last record")
+        @Order(2)
+        public void pop() {
+            assertEquals(new Trade(99, 24.75, 990), array.pop());
+            assertEquals(99, array.size());
+        }
+
+        @Test
+        @DisplayName("Field accessors should read and write in place")
+        @Order(3)
+        public void fields() {
+            assertEquals(42L, array.getLong(42, 0));
+            assertEquals(10.5, array.getDouble(42, 8));
+            assertEquals(420, array.getInt(42, 16));
+
+            array.setInt(42, 16, 7);
+            assertEquals(new Trade(42, 10.5, 7), array.get(42));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> array.getLong(42, 20));
+        }
+
+        @Test
+        @DisplayName("Remove item should shift the following records down")
+        @Order(4)
+        public void remove() {
+            array.remove(0);
+
+            assertEquals(98, array.size());
+            assertEquals(new Trade(1, 0.25, 10), array.get(0));
+            assertEquals(new Trade(98, 24.5, 980), array.get(97));
+        }
+    }
+}
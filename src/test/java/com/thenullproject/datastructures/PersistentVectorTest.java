@@ -0,0 +1,163 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Persistent vector tests
+ */
+public class PersistentVectorTest {
+
+    @ParameterizedTest(name = "Index: {0}")
+    @DisplayName("Get and set should throw an IndexOutOfBoundsException for indexes less than 0 or greater than size - 1.")
+    @ValueSource(ints = {-5, 3, 40})
+    public void getShouldThrowIndexOutOfBoundsExceptionForInvalidIndexes(int index) {
+        PersistentVector<String> vector = PersistentVector.<String>empty().append("a").append("b").append("c");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.set(index, "d"));
+    }
+
+    @Test
+    @DisplayName("Pop should throw an IndexOutOfBoundsException for an empty vector.")
+    public void popShouldThrowWhenEmpty() {
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentVector.empty().pop());
+    }
+
+    @ParameterizedTest(name = "Size: {0}")
+    @DisplayName("Appending then popping every value should return the values in order at every size.")
+    @ValueSource(ints = {1, 32, 33, 1024, 1056, 1057, 40_000})
+    public void appendAndPop(int size) {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for(int i = 0; i < size; i++)
+            vector = vector.append(i);
+
+        assertEquals(size, vector.size());
+        for(int i = 0; i < size; i++)
+            assertEquals(i, vector.get(i));
+
+        for(int i = size - 1; i >= 0; i--) {
+            assertEquals(i, vector.get(i));
+            vector = vector.pop();
+            assertEquals(i, vector.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Updates should leave older versions of the vector unchanged.")
+    public void updatesShareStructureWithoutChangingOldVersions() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for(int i = 0; i < 5000; i++)
+            vector = vector.append(i);
+
+        PersistentVector<Integer> updated = vector.set(10, -10).set(4990, -4990).append(5000);
+        PersistentVector<Integer> popped = vector.pop().pop();
+
+        assertEquals(5000, vector.size());
+        assertEquals(10, vector.get(10));
+        assertEquals(4990, vector.get(4990));
+        assertEquals(4999, vector.get(4999));
+        assertEquals(-10, updated.get(10));
+        assertEquals(-4990, updated.get(4990));
+        assertEquals(5000, updated.get(5000));
+        assertEquals(4998, popped.size());
+        assertEquals(4997, popped.get(4997));
+    }
+
+    @Test
+    @DisplayName("Random operations should match a reference list, with every old version still intact.")
+    public void randomOperationsMatchReference() {
+        Random random = new Random(14);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> reference = new ArrayList<>();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> references = new ArrayList<>();
+
+        for(int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(10);
+            if(reference.isEmpty() || operation < 6) {
+                vector = vector.append(step);
+                reference.add(step);
+            } else if(operation < 8) {
+                int index = random.nextInt(reference.size());
+                vector = vector.set(index, -step);
+                reference.set(index, -step);
+            } else {
+                vector = vector.pop();
+                reference.remove(reference.size() - 1);
+            }
+            if(step % 1000 == 0) {
+                versions.add(vector);
+                references.add(new ArrayList<>(reference));
+            }
+        }
+
+        for(int v = 0; v < versions.size(); v++) {
+            assertEquals(references.get(v).size(), versions.get(v).size());
+            for(int i = 0; i < references.get(v).size(); i++)
+                assertEquals(references.get(v).get(i), versions.get(v).get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("A builder should not change the vector it started from, and can't be used after building.")
+    public void builder() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for(int i = 0; i < 100; i++)
+            vector = vector.append(i);
+
+        PersistentVector.Builder<Integer> builder = vector.toBuilder();
+        for(int i = 100; i < 3000; i++)
+            builder.append(i);
+        builder.set(5, -5).set(2999, -2999);
+        assertEquals(-5, builder.get(5));
+        PersistentVector<Integer> built = builder.build();
+
+        assertEquals(100, vector.size());
+        assertEquals(5, vector.get(5));
+        assertEquals(3000, built.size());
+        assertEquals(-5, built.get(5));
+        assertEquals(1234, built.get(1234));
+        assertEquals(-2999, built.get(2999));
+        assertThrows(IllegalStateException.class, () -> builder.append(1));
+
+        // a second builder must copy the nodes the first one owned
+        PersistentVector<Integer> rebuilt = built.toBuilder().set(1234, 0).append(3000).build();
+        assertEquals(1234, built.get(1234));
+        assertEquals(3000, built.size());
+        assertEquals(0, rebuilt.get(1234));
+        assertEquals(3000, rebuilt.get(3000));
+    }
+
+    @Test
+    @DisplayName("Converting to and from LinkedListV2 should keep the values in order.")
+    public void convertToAndFromLinkedListV2() {
+        assertInstanceOf(LinkedListV2.Empty.class, PersistentVector.empty().toList());
+        assertEquals(0, PersistentVector.fromList(new LinkedListV2.Empty<>()).size());
+
+        LinkedListV2.Node<Integer> list = null;
+        for(int i = 999; i >= 0; i--)
+            list = new LinkedListV2.Node<>(i, list);
+
+        PersistentVector<Integer> vector = PersistentVector.fromList(list);
+        assertEquals(1000, vector.size());
+        for(int i = 0; i < 1000; i++)
+            assertEquals(i, vector.get(i));
+
+        LinkedListV2.Node<Integer> node = (LinkedListV2.Node<Integer>) vector.toList();
+        for(int i = 0; i < 1000; i++, node = node.next())
+            assertEquals(i, node.value());
+        assertNull(node);
+    }
+}
@@ -9,8 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -94,5 +98,101 @@ public class QueueATest {
         assertThrows(IllegalStateException.class, () -> queue.enqueue(8));
     }
 
+    @Test
+    @DisplayName("Enqueue and dequeue should keep working after wrapping around the end of the array")
+    public void shouldReuseSlotsAfterWrappingAround() {
+        QueueA queue = new QueueA();
+
+        // 3 laps of the circular buffer
+        for(int i = 0; i < 24; i++) {
+            queue.enqueue(i);
+            assertEquals(i, queue.dequeue());
+        }
+
+        assertTrue(queue.empty());
+    }
+
+    @Test
+    @DisplayName("Enqueue all should add every item in order, wrapping around the end of the array")
+    public void enqueueAllWrapsAround() {
+        QueueA queue = new QueueA();
+
+        // move the read and write indexes to 5
+        for(int i = 0; i < 5; i++) {
+            queue.enqueue(i);
+            queue.dequeue();
+        }
+
+        queue.enqueueAll(new Object[]{'x', 'A', 'B', 'C', 'D', 'E', 'F'}, 1, 6);
+
+        assertFalse(queue.full());
+        for(char c = 'A'; c <= 'F'; c++)
+            assertEquals(c, queue.dequeue());
+        assertTrue(queue.empty());
+    }
+
+    @Test
+    @DisplayName("Enqueue all should throw illegal state exception and add nothing when the items don't fit")
+    public void enqueueAllShouldNotAddAnythingWhenFull() {
+        QueueA queue = new QueueA();
+        queue.enqueue(0);
+
+        assertThrows(IllegalStateException.class, () -> queue.enqueueAll(new Object[8], 0, 8));
+        assertEquals(0, queue.dequeue());
+        assertTrue(queue.empty());
+    }
 
+    @Test
+    @DisplayName("Enqueue all should throw null pointer exception and add nothing when an item is null")
+    public void enqueueAllShouldRejectNull() {
+        QueueA queue = new QueueA();
+        queue.enqueue(0);
+
+        assertThrows(NullPointerException.class, () -> queue.enqueueAll(new Object[]{'A', null, 'B'}, 0, 3));
+        assertThrows(NullPointerException.class, () -> queue.enqueueAll(Arrays.asList('A', null, 'B')));
+
+        // only the item before the null in the iterable was added
+        assertEquals(0, queue.dequeue());
+        assertEquals('A', queue.dequeue());
+        assertTrue(queue.empty());
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+    }
+
+    @Test
+    @DisplayName("Drain to array should remove items in order and leave the queue usable")
+    public void drainToArray() {
+        QueueA queue = new QueueA();
+
+        // move the read and write indexes to 6
+        for(int i = 0; i < 6; i++) {
+            queue.enqueue(i);
+            queue.dequeue();
+        }
+        queue.enqueueAll(List.of(1, 2, 3, 4, 5));
+
+        Object[] dst = new Object[4];
+        assertEquals(4, queue.drainTo(dst));
+        assertArrayEquals(new Object[]{1, 2, 3, 4}, dst);
+
+        // remaining item plus a full lap
+        for(int i = 6; i < 13; i++)
+            queue.enqueue(i);
+        assertTrue(queue.full());
+        assertEquals(8, queue.drainTo(new Object[10]));
+        assertTrue(queue.empty());
+    }
+
+    @Test
+    @DisplayName("Drain to consumer should remove at most max elements in order")
+    public void drainToConsumer() {
+        QueueA queue = new QueueA();
+        queue.enqueueAll(List.of('A', 'B', 'C'));
+
+        List<Object> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained::add, 2));
+        assertEquals(List.of('A', 'B'), drained);
+        assertEquals(1, queue.drainTo(drained::add, 10));
+        assertEquals(List.of('A', 'B', 'C'), drained);
+        assertTrue(queue.empty());
+    }
 }
@@ -9,8 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -81,4 +84,67 @@ public class QueueLLTest {
 
     }
 
+    @Test
+    @DisplayName("Enqueue all should add items after the existing ones in order")
+    public void enqueueAll() {
+        QueueLL<Integer> queue = new QueueLL<>();
+        queue.enqueue(1);
+
+        queue.enqueueAll(new Integer[]{0, 2, 3, 0}, 1, 2);
+        queue.enqueueAll(List.of(4, 5));
+        queue.enqueueAll(List.of());
+
+        for(int i = 1; i <= 5; i++)
+            assertEquals(i, queue.dequeue());
+        assertTrue(queue.empty());
+    }
+
+    @Test
+    @DisplayName("Drain should remove items in order and leave the queue usable")
+    public void drainTo() {
+        QueueLL<String> queue = new QueueLL<>();
+        queue.enqueueAll(List.of("A", "B", "C", "D"));
+
+        Object[] dst = new Object[3];
+        assertEquals(3, queue.drainTo(dst));
+        assertArrayEquals(new Object[]{"A", "B", "C"}, dst);
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(1, queue.drainTo(drained::add, 10));
+        assertEquals(List.of("D"), drained);
+        assertTrue(queue.empty());
+
+        queue.enqueue("E");
+        assertEquals("E", queue.dequeue());
+    }
+
+    @Test
+    @DisplayName("Pooled queue should reuse dequeued nodes, keeping at most pool capacity of them")
+    public void pooledQueue() {
+        QueueLL<Integer> queue = new QueueLL<>(4);
+        for(int i = 0; i < 10; i++)
+            queue.enqueue(i);
+
+        Object[] dst = new Object[3];
+        assertEquals(3, queue.drainTo(dst));
+        queue.dequeue();
+        queue.dequeue();
+        assertEquals(4, queue.pooled()); // pool is bounded
+
+        queue.enqueueAll(List.of(10, 11, 12));
+        assertEquals(1, queue.pooled());
+        for(int i = 5; i <= 12; i++)
+            assertEquals(i, queue.dequeue());
+        assertTrue(queue.empty());
+
+        queue.enqueue(13);
+        assertEquals(13, queue.dequeue());
+        assertEquals(0, new QueueLL<>().pooled());
+    }
+
+    @Test
+    @DisplayName("Pool capacity less than zero should throw an IllegalArgumentException")
+    public void negativePoolCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new QueueLL<>(-1));
+    }
 }
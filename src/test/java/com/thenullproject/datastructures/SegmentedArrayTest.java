@@ -0,0 +1,97 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the segmented dynamic array
+ */
+public class SegmentedArrayTest {
+
+    @ParameterizedTest(name = "Segment size: {0}")
+    @DisplayName("Segment size less than or equal to zero should throw an IllegalArgumentException")
+    @ValueSource(ints = {0, -1})
+    public void invalidSegmentSize(int segmentSize) {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedArray<>(segmentSize));
+    }
+
+    @ParameterizedTest(name = "Index: {0}")
+    @DisplayName("Get and set should throw an IndexOutOfBoundsException for indexes less than 0 or greater than size - 1")
+    @ValueSource(ints = {-1, 3, 100})
+    public void invalidIndexes(int index) {
+        SegmentedArray<String> array = new SegmentedArray<>(2);
+        array.push("a");
+        array.push("b");
+        array.push("c");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.set(index, "d"));
+    }
+
+    @Test
+    @DisplayName("Pop should throw an IndexOutOfBoundsException for an empty array")
+    public void popEmpty() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new SegmentedArray<>().pop());
+    }
+
+    @Test
+    @DisplayName("Push across many segments should keep values in order, set should replace them")
+    public void pushGetSet() {
+        SegmentedArray<Integer> array = new SegmentedArray<>(100); // rounded up to 128
+
+        for(int i = 0; i < 10_000; i++) // 79 segments of 128 values
+            array.push(i);
+        assertEquals(10_000, array.size());
+        assertEquals(79 * 128, array.capacity());
+
+        for(int i = 0; i < 10_000; i += 7)
+            array.set(i, -i);
+        for(int i = 0; i < 10_000; i++)
+            assertEquals(i % 7 == 0 ? -i : i, array.get(i));
+    }
+
+    @Test
+    @DisplayName("Push and pop should cross directory blocks")
+    public void crossDirectoryBlocks() {
+        SegmentedArray<Integer> array = new SegmentedArray<>(1); // 65536 one-value segments per block
+
+        for(int i = 0; i < 70_000; i++)
+            array.push(i);
+        assertEquals(70_000, array.capacity());
+        for(int i = 0; i < 70_000; i += 999)
+            assertEquals(i, array.get(i));
+
+        for(int i = 69_999; i >= 65_536; i--)
+            assertEquals(i, array.pop());
+        assertEquals(65_537, array.capacity()); // spare is the first segment of the second block
+        assertEquals(65_535, array.pop());
+        assertEquals(65_536, array.capacity());
+    }
+
+    @Test
+    @DisplayName("Pop should return values in reverse order and release empty segments, keeping one spare")
+    public void popReleasesSegments() {
+        SegmentedArray<Integer> array = new SegmentedArray<>(4);
+        for(int i = 0; i < 16; i++)
+            array.push(i);
+        assertEquals(16, array.capacity());
+
+        for(int i = 15; i >= 8; i--)
+            assertEquals(i, array.pop());
+        assertEquals(12, array.capacity()); // segments 0 and 1 in use, segment 2 is the spare
+
+        array.push(8);
+        array.pop();
+        array.push(8);
+        assertEquals(12, array.capacity()); // bouncing on a boundary reuses the spare
+
+        while(array.size() > 0)
+            array.pop();
+        assertEquals(4, array.capacity());
+    }
+}
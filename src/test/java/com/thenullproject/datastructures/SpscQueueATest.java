@@ -0,0 +1,110 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the single-producer/single-consumer queue
+ */
+public class SpscQueueATest {
+
+    @ParameterizedTest(name = "Capacity: {0}, Set Capacity: {1}")
+    @DisplayName("Should round capacity up to a power of two")
+    @CsvSource({
+            "1, 1",
+            "8, 8",
+            "9, 16",
+            "1000, 1024"
+    })
+    public void shouldRoundCapacityUpToPowerOfTwo(int capacity, int setCapacity) {
+        assertEquals(setCapacity, new SpscQueueA<>(capacity).capacity());
+    }
+
+    @Test
+    @DisplayName("Should create new queue that is empty and return null when polled")
+    public void shouldCreateNewEmptyQueue() {
+        SpscQueueA<String> queue = new SpscQueueA<>(4);
+        assertTrue(queue.empty());
+        assertFalse(queue.full());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @DisplayName("Should reject null values")
+    public void shouldRejectNullValues() {
+        SpscQueueA<String> queue = new SpscQueueA<>(4);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    @DisplayName("Offer should fail when full and items should come out in order across laps")
+    public void offerAndPollInOrder() {
+        SpscQueueA<Integer> queue = new SpscQueueA<>(4);
+
+        for(int lap = 0; lap < 3; lap++) {
+            for(int i = 0; i < 4; i++)
+                assertTrue(queue.offer(lap * 4 + i));
+            assertTrue(queue.full());
+            assertFalse(queue.offer(-1));
+
+            for(int i = 0; i < 4; i++)
+                assertEquals(lap * 4 + i, queue.poll());
+            assertTrue(queue.empty());
+        }
+    }
+
+    @Test
+    @DisplayName("Items handed from a producer thread to a consumer thread should arrive in order")
+    public void producerConsumerHandoff() throws InterruptedException {
+        SpscQueueA<Integer> queue = new SpscQueueA<>(64);
+        int count = 100_000;
+
+        Thread producer = new Thread(() -> {
+            for(int i = 0; i < count; i++)
+                while(!queue.offer(i))
+                    Thread.yield();
+        });
+        producer.start();
+
+        for(int i = 0; i < count; i++) {
+            Integer value;
+            while((value = queue.poll()) == null)
+                Thread.yield();
+            assertEquals(i, value);
+        }
+        producer.join();
+
+        assertTrue(queue.empty());
+    }
+
+    @Test
+    @DisplayName("Offer all and drain should move batches in order and stop at capacity")
+    public void offerAllAndDrain() {
+        SpscQueueA<Integer> queue = new SpscQueueA<>(8);
+        Integer[] values = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        assertEquals(8, queue.offerAll(values, 0, 10));
+        assertTrue(queue.full());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(5, queue.drainTo(drained::add, 5));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+
+        // wraps around the end of the array
+        assertEquals(2, queue.offerAll(values, 8, 2));
+        assertEquals(5, queue.drainTo(drained::add, 100));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), drained);
+        assertTrue(queue.empty());
+    }
+}
@@ -0,0 +1,55 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for Stack implementations using a dynamic array
+ */
+public class StackATest {
+
+    @Test
+    @DisplayName("Should create new stack that is empty, pop and top should throw a NoSuchElementException")
+    public void shouldCreateNewEmptyStack() {
+        StackA<String> stack = new StackA<>();
+        IntStackA intStack = new IntStackA();
+
+        assertTrue(stack.empty());
+        assertTrue(intStack.empty());
+        assertThrows(NoSuchElementException.class, stack::pop);
+        assertThrows(NoSuchElementException.class, stack::top);
+        assertThrows(NoSuchElementException.class, intStack::pop);
+        assertThrows(NoSuchElementException.class, intStack::top);
+    }
+
+    @Test
+    @DisplayName("Pop should return items in reverse order, growing past the initial capacity")
+    public void pushAndPopInReverseOrder() {
+        StackA<Integer> stack = new StackA<>(4);
+        IntStackA intStack = new IntStackA(4);
+
+        for(int i = 0; i < 1000; i++) {
+            stack.push(i);
+            intStack.push(i);
+        }
+        assertFalse(stack.empty());
+        assertEquals(1000, stack.size());
+        assertEquals(1000, intStack.size());
+        assertEquals(999, stack.top());
+        assertEquals(999, intStack.top());
+
+        for(int i = 999; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+            assertEquals(i, intStack.pop());
+        }
+        assertTrue(stack.empty());
+        assertTrue(intStack.empty());
+    }
+}
@@ -0,0 +1,110 @@
+package com.thenullproject.datastructures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unrolled linked list tests
+ */
+public class UnrolledLinkedListTest {
+
+    @ParameterizedTest(name = "Index: {0}")
+    @DisplayName("Value at should throw an IndexOutOfBoundsException for indexes less than 0 or greater than list size - 1.")
+    @ValueSource(ints = {-5, 3, 20})
+    public void valueAtShouldThrowIndexOutOfBoundsExceptionForInvalidIndexes(int index) {
+        UnrolledLinkedList<Float> list = new UnrolledLinkedList<>();
+
+        list.pushBack(3.14f);
+        list.pushBack(2.718f);
+        list.pushBack(1.618f);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.valueAt(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAfter(3, 0f));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addBefore(4, 0f));
+    }
+
+    @Test
+    @DisplayName("Pop back and pop front should throw an NoSuchElementException for an empty list.")
+    public void popShouldThrowNoSuchElementExceptionWhenEmpty() {
+        UnrolledLinkedList<Object> list = new UnrolledLinkedList<>();
+
+        assertThrows(NoSuchElementException.class, list::popBack);
+        assertThrows(NoSuchElementException.class, list::popFront);
+    }
+
+    @Test
+    @DisplayName("Push and pop at both ends should return correct size and values in order.")
+    public void pushAndPopBothEnds() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+
+        // spans several nodes in both directions
+        for(int i = 0; i < 100; i++) {
+            list.pushBack(i);
+            list.pushFront(-i - 1);
+        }
+
+        assertEquals(200, list.size());
+        assertEquals(-100, list.valueAt(0));
+        assertEquals(99, list.valueAt(199));
+        assertEquals(0, list.valueAt(100));
+
+        for(int i = 99; i >= 0; i--) {
+            assertEquals(i, list.popBack());
+            assertEquals(-i - 1, list.popFront());
+        }
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    @DisplayName("Add items before and after should return correct size and values in order.")
+    public void addBeforeAndAfter() {
+        UnrolledLinkedList<String> list = new UnrolledLinkedList<>();
+
+        list.addBefore(0, "Item 2");
+        list.addBefore(0, "Item 1");
+        list.addAfter(1, "Item 4");
+        list.addBefore(2, "Item 3");
+
+        assertEquals(4, list.size());
+        for(int i = 0; i < 4; i++)
+            assertEquals("Item " + (i + 1), list.valueAt(i));
+    }
+
+    @Test
+    @DisplayName("Random inserts and pops should match a reference list while nodes split and merge.")
+    public void randomOperationsMatchReference() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        List<Integer> reference = new ArrayList<>();
+        Random random = new Random(7);
+
+        for(int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(6);
+            if(operation < 3 || reference.isEmpty()) { // insert somewhere in the middle
+                int index = random.nextInt(reference.size() + 1);
+                list.addBefore(index, step);
+                reference.add(index, step);
+            } else if(operation == 3) {
+                assertEquals(reference.remove(0), list.popFront());
+            } else if(operation == 4) {
+                assertEquals(reference.remove(reference.size() - 1), list.popBack());
+            } else {
+                int index = random.nextInt(reference.size());
+                assertEquals(reference.get(index), list.valueAt(index));
+            }
+        }
+
+        assertEquals(reference.size(), list.size());
+        for(int i = 0; i < reference.size(); i++)
+            assertEquals(reference.get(i), list.valueAt(i));
+    }
+}